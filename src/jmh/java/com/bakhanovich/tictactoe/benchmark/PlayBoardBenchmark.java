@@ -0,0 +1,146 @@
+package com.bakhanovich.tictactoe.benchmark;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.service.impl.BitBoardPlayBoardImpl;
+import com.bakhanovich.tictactoe.service.impl.KInARowPlayBoardImpl;
+import com.bakhanovich.tictactoe.service.impl.PlayBoardImpl;
+import com.bakhanovich.tictactoe.service.impl.SparsePlayBoardImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmarks of the hot paths of the {@link PlayBoard} implementations. All boards play the standard
+ * 3 x 3 game, the sparse board plays it on the cells from (0, 0) to (2, 2), so the numbers are comparable.
+ * The benchmarks, which change the board, restore it, so every invocation starts from the same position:
+ * {@link #move()} takes the move back and {@link #clearBoard()} places the tiles again before the clearing.
+ * Is run by the Maven profile 'jmh' with the GC profiler, which reports the allocation per operation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayBoardBenchmark {
+    private static final int CELLS = PlayBoard.SIZE * PlayBoard.SIZE;
+    /** the position of the game, which is not over: X on (0,0), (1,1), O on (0,1), (2,2) */
+    private static final int[] OPEN_POSITION = {0, 1, 4, 8};
+    /** the position of the game, which is won by X on the first row */
+    private static final int[] WON_POSITION = {0, 3, 1, 4, 2};
+
+    @Param({"tile", "bitboard", "k-in-a-row", "sparse"})
+    private String board;
+
+    private PlayBoard openBoard;
+    private PlayBoard wonBoard;
+    private PlayBoard gameBoard;
+    private final SplittableRandom random = new SplittableRandom(1);
+    private final int[] cells = new int[CELLS];
+
+    @Setup
+    public void setUp() throws IllegalMoveException {
+        openBoard = createBoard();
+        play(openBoard, OPEN_POSITION, OPEN_POSITION.length);
+        wonBoard = createBoard();
+        play(wonBoard, WON_POSITION, WON_POSITION.length);
+        gameBoard = createBoard();
+    }
+
+    private PlayBoard createBoard() {
+        switch (board) {
+            case "tile":
+                return new PlayBoardImpl();
+            case "bitboard":
+                return new BitBoardPlayBoardImpl();
+            case "k-in-a-row":
+                return new KInARowPlayBoardImpl(PlayBoard.SIZE, PlayBoard.SIZE);
+            case "sparse":
+                return new SparsePlayBoardImpl(PlayBoard.SIZE);
+            default:
+                throw new IllegalArgumentException("Unknown board: " + board);
+        }
+    }
+
+    /**
+     * Makes the moves in the order of the cells, until the game is won or the moves are over.
+     */
+    private static void play(PlayBoard playBoard, int[] order, int moves) throws IllegalMoveException {
+        for (int i = 0; i < moves && playBoard.getWinner() == null; i++) {
+            Player player = playBoard.getCurrentPlayer();
+            playBoard.move(order[i] / PlayBoard.SIZE, order[i] % PlayBoard.SIZE);
+            playBoard.setCurrentPlayer(player == Player.PLAYER1 ? Player.PLAYER2 : Player.PLAYER1);
+        }
+    }
+
+    /**
+     * Places the tile on the center-right cell of the open position and takes the move back.
+     */
+    @Benchmark
+    public PlayBoard move() throws IllegalMoveException {
+        PlayBoard result = openBoard.move(1, 2);
+        openBoard.unmake(1, 2);
+        return result;
+    }
+
+    @Benchmark
+    public boolean isGameOver() {
+        return openBoard.isGameOver();
+    }
+
+    @Benchmark
+    public Player getWinner() {
+        return wonBoard.getWinner();
+    }
+
+    @Benchmark
+    public String toStringOfBoard() {
+        return openBoard.toString();
+    }
+
+    /**
+     * Places the tiles of the open position and clears the board.
+     */
+    @Benchmark
+    public PlayBoard clearBoard() throws IllegalMoveException {
+        gameBoard.setCurrentPlayer(Player.PLAYER1);
+        play(gameBoard, OPEN_POSITION, OPEN_POSITION.length);
+        gameBoard.clearBoard();
+        return gameBoard;
+    }
+
+    /**
+     * Plays a random game: the cells are played in the order of a random permutation until the game is won
+     * or the grid is full, the board is cleared after the game.
+     */
+    @Benchmark
+    public Player randomGame() throws IllegalMoveException {
+        for (int i = 0; i < CELLS; i++) {
+            cells[i] = i;
+        }
+        for (int i = CELLS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int cell = cells[i];
+            cells[i] = cells[j];
+            cells[j] = cell;
+        }
+        gameBoard.setCurrentPlayer(Player.PLAYER1);
+        play(gameBoard, cells, CELLS);
+        Player winner = gameBoard.getWinner();
+        gameBoard.clearBoard();
+        return winner;
+    }
+}
@@ -3,14 +3,17 @@ package com.bakhanovich.tictactoe;
 import com.bakhanovich.tictactoe.utility.Constants;
 import com.bakhanovich.tictactoe.exception.IllegalMoveException;
 import com.bakhanovich.tictactoe.model.Player;
-import com.bakhanovich.tictactoe.model.Point;
 import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 
 import java.io.IOException;
+import java.time.Duration;
 import java.util.Scanner;
 
 /**
@@ -65,6 +68,18 @@ public class TictactoeApplication implements CommandLineRunner {
                     + "              To show amount of players wins, please"
                     + " write the command 'switch' or 's' WITHOUT parameters."
                     + "\n" + "              Examples: 'stats' or 's'.";
+    private final static String NOTE_COMM_UNDO =
+            "Command 'undo' takes back the last move of the game."
+                    + "\n"
+                    + "              To take back the last move you should write"
+                    + " this command WITHOUT parameters." + "\n"
+                    + "              Examples: 'undo' or 'u'.";
+    private final static String NOTE_COMM_HINT =
+            "Command 'hint' shows the best move of the current player."
+                    + "\n"
+                    + "              To show the best move you should write"
+                    + " this command WITHOUT parameters." + "\n"
+                    + "              Examples: 'hint'.";
     private final static String NOTE =
             "It is the game TicTacToe. There are 2 Players: Player1 amd Player2."
                     + " Both players make moves. Is is possible only those"
@@ -79,6 +94,8 @@ public class TictactoeApplication implements CommandLineRunner {
                     + "- quit:   " + NOTE_COMM_QUIT + "\n"
                     + "- move:   " + NOTE_COMM_MOVE + "\n"
                     + "- stats:   " + NOTE_COMM_STATS + "\n"
+                    + "- undo:   " + NOTE_COMM_UNDO + "\n"
+                    + "- hint:   " + NOTE_COMM_HINT + "\n"
                     + "The program is controlled by using expressions,"
                     + " which consists of parts: command integer1 integer2"
                     + "\n"
@@ -97,19 +114,54 @@ public class TictactoeApplication implements CommandLineRunner {
     private final static String WRONG_POSITION2 =
             "Error! The position is wrong. The value does not match integer";
     private static final String PRESS_ENTER_TO_RUN_THE_NEXT_COMMAND = "Press Enter to run the next command...";
+    private static final String HINT = "The best move of %s is (%d,%d)%n";
+    private static final String NO_HINT = "There is no move to make";
+    private static final String COMPUTER_MOVE = "%s (computer) moves to (%d,%d)%n";
 
     private final PlayBoard playBoard;
     private final Scanner scanner;
+    /** the {@link Player}, whose moves are made by the engine, or null if both players are humans */
+    private final Player computerPlayer;
+    /** the time of the search of a computer move or a hint, or null if the search has no time limit */
+    private final Duration moveBudget;
 
     /**
      * Constructor for the {@link TictactoeApplication}
      * @param playBoard
      *         {@link PlayBoard}
      */
-    @Autowired
     public TictactoeApplication(PlayBoard playBoard) {
-        this.playBoard = playBoard;
-        this.scanner = new Scanner(System.in).useDelimiter("\\s+");
+        this(playBoard, (Player) null);
+    }
+
+    /**
+     * Constructor for the {@link TictactoeApplication}
+     * @param playBoard
+     *         {@link PlayBoard}
+     * @param computerPlayer
+     *         the {@link Player}, whose moves are made by the engine, is set by the property
+     *         'tictactoe.computer-player'. If it is null, both players are humans
+     */
+    public TictactoeApplication(PlayBoard playBoard, Player computerPlayer) {
+        this(playBoard, computerPlayer, null);
+    }
+
+    /**
+     * Constructor for the {@link TictactoeApplication}
+     * @param playBoard
+     *         {@link PlayBoard}
+     * @param computerPlayer
+     *         the {@link Player}, whose moves are made by the engine, is set by the property
+     *         'tictactoe.computer-player'. If it is null, both players are humans
+     * @param moveBudget
+     *         the time of the search of a computer move or a hint, is set by the property
+     *         'tictactoe.move-budget'. If it is null, the search has no time limit
+     */
+    @Autowired
+    public TictactoeApplication(PlayBoard playBoard,
+                                @Value("${tictactoe.computer-player:}") Player computerPlayer,
+                                @Value("${tictactoe.move-budget:}") Duration moveBudget) {
+        this(playBoard, new Scanner(System.in).useDelimiter("\\s+"), computerPlayer, moveBudget);
     }
 
     /**
@@ -120,8 +172,38 @@ public class TictactoeApplication implements CommandLineRunner {
      *         {@link Scanner}
      */
     public TictactoeApplication(PlayBoard playBoard, Scanner scanner) {
+        this(playBoard, scanner, null);
+    }
+
+    /**
+     * Constructor for the {@link TictactoeApplication}
+     * @param playBoard
+     *         {@link PlayBoard}
+     * @param scanner
+     *         {@link Scanner}
+     * @param computerPlayer
+     *         the {@link Player}, whose moves are made by the engine, or null
+     */
+    public TictactoeApplication(PlayBoard playBoard, Scanner scanner, Player computerPlayer) {
+        this(playBoard, scanner, computerPlayer, null);
+    }
+
+    /**
+     * Constructor for the {@link TictactoeApplication}
+     * @param playBoard
+     *         {@link PlayBoard}
+     * @param scanner
+     *         {@link Scanner}
+     * @param computerPlayer
+     *         the {@link Player}, whose moves are made by the engine, or null
+     * @param moveBudget
+     *         the time of the search of a computer move or a hint, or null
+     */
+    public TictactoeApplication(PlayBoard playBoard, Scanner scanner, Player computerPlayer, Duration moveBudget) {
         this.playBoard = playBoard;
         this.scanner = scanner;
+        this.computerPlayer = computerPlayer;
+        this.moveBudget = moveBudget;
     }
 
     /**
@@ -140,10 +222,18 @@ public class TictactoeApplication implements CommandLineRunner {
         waitForPressEnter(scanner, NOTE);
         while (!quit.equals("quit")) {
             gameOver(playBoard, scanner);
+            if (isComputerTurn()) {
+                makeComputerMove();
+                continue;
+            }
             String exit = "";
             String[] tokens; // array for save inputs from user by words
             prompt(playBoard.getCurrentPlayer(), playBoard);
             while (!exit.equals("exit")) { // condit to exit human activity
+                if (isComputerTurn()) {
+                    // e.g. the command 'new' has given the first move to the computer
+                    break;
+                }
                 tokens = scanUserInput(scanner, playBoard.getCurrentPlayer(), playBoard);
 
                 //catches the wrong name of the command
@@ -157,13 +247,12 @@ public class TictactoeApplication implements CommandLineRunner {
                         processHelpCommand(tokens);
                         break;
                     case ("move"):
-                        if (checkCommOfThree(tokens, NOTE_COMM_MOVE, playBoard.getCurrentPlayer(), scanner, playBoard) == null) {
+                        int coordinate = checkCommOfThree(tokens, NOTE_COMM_MOVE, playBoard.getCurrentPlayer(), scanner, playBoard);
+                        if (coordinate == Coordinates.NONE) {
                             break;
                         } else {
-                            int positionI = checkCommOfThree(tokens,
-                                    NOTE_COMM_MOVE, playBoard.getCurrentPlayer(), scanner, playBoard).getPositionI();
-                            int positionJ = checkCommOfThree(tokens,
-                                    NOTE_COMM_MOVE, playBoard.getCurrentPlayer(), scanner, playBoard).getPositionJ();
+                            int positionI = Coordinates.row(coordinate);
+                            int positionJ = Coordinates.col(coordinate);
                             try {
                                 PlayBoard boardAfterMove = (PlayBoard) playBoard.move(
                                         positionI - 1, positionJ - 1);
@@ -207,6 +296,12 @@ public class TictactoeApplication implements CommandLineRunner {
                     case ("stats"):
                         processStatsCommand(tokens);
                         break;
+                    case ("undo"):
+                        processUndoCommand(tokens);
+                        break;
+                    case ("hint"):
+                        processHintCommand(tokens);
+                        break;
                     case ("print"):
                         processPrintCommand(tokens);
                         break;
@@ -222,6 +317,32 @@ public class TictactoeApplication implements CommandLineRunner {
                 }
             }
         }
+        close();
+    }
+
+    /**
+     * Closes the session of the game: stops the search of the computer move or the hint, which can
+     * still run, e.g. when the application is shut down by Ctrl+C while the engine is thinking.
+     */
+    @PreDestroy
+    public void close() {
+        playBoard.cancel();
+    }
+
+    private boolean isComputerTurn() {
+        return computerPlayer != null && playBoard.getCurrentPlayer() == computerPlayer;
+    }
+
+    private int bestMove() {
+        return moveBudget == null ? playBoard.bestMove() : playBoard.bestMove(moveBudget);
+    }
+
+    private void makeComputerMove() throws IllegalMoveException {
+        int coordinate = bestMove();
+        playBoard.move(coordinate);
+        System.out.printf(COMPUTER_MOVE, computerPlayer.toString(),
+                Coordinates.row(coordinate) + 1, Coordinates.col(coordinate) + 1);
+        playBoard.setCurrentPlayer(computerPlayer == Player.PLAYER1 ? Player.PLAYER2 : Player.PLAYER1);
     }
 
     private void processPrintCommand(String[] tokens) {
@@ -235,6 +356,39 @@ public class TictactoeApplication implements CommandLineRunner {
         }
     }
 
+    private void processUndoCommand(String[] tokens) {
+        if (!checkCommOfOne(tokens, NOTE_COMM_UNDO, playBoard.getCurrentPlayer(), scanner, playBoard)) {
+            return;
+        }
+        try {
+            playBoard.undo();
+            if (isComputerTurn() && playBoard.getHistorySize() > 0) {
+                // the move of the computer is taken back together with the move of the human
+                playBoard.undo();
+            }
+            System.out.println(playBoard.toString());
+        } catch (IllegalMoveException exception) {
+            System.out.println(exception.getMessage());
+        }
+        waitForPressEnter(scanner, PRESS_ENTER_TO_RUN_THE_NEXT_COMMAND);
+        prompt(playBoard.getCurrentPlayer(), playBoard);
+    }
+
+    private void processHintCommand(String[] tokens) {
+        if (!checkCommOfOne(tokens, NOTE_COMM_HINT, playBoard.getCurrentPlayer(), scanner, playBoard)) {
+            return;
+        }
+        int coordinate = bestMove();
+        if (coordinate == Coordinates.NONE) {
+            System.out.println(NO_HINT);
+        } else {
+            System.out.printf(HINT, playBoard.getCurrentPlayer().toString(),
+                    Coordinates.row(coordinate) + 1, Coordinates.col(coordinate) + 1);
+        }
+        waitForPressEnter(scanner, PRESS_ENTER_TO_RUN_THE_NEXT_COMMAND);
+        prompt(playBoard.getCurrentPlayer(), playBoard);
+    }
+
     private void processStatsCommand(String[] tokens) {
         if (!checkCommOfOne(tokens, NOTE_COMM_STATS, playBoard.getCurrentPlayer(), scanner, playBoard)) {
             return;
@@ -282,6 +436,8 @@ public class TictactoeApplication implements CommandLineRunner {
                 && !tokens[0].equalsIgnoreCase("stats")
                 && !tokens[0].equalsIgnoreCase("print")
                 && !tokens[0].equalsIgnoreCase("help")
+                && !tokens[0].equalsIgnoreCase("undo")
+                && !tokens[0].equalsIgnoreCase("hint")
                 && !tokens[0].equalsIgnoreCase("quit")) {
             error(WRONG_COMMAND, NOTE, TRY_AGAIN, playBoard.getCurrentPlayer(), scanner, playBoard);
             tokens = scanUserInput(scanner, playBoard.getCurrentPlayer(), playBoard);
@@ -420,6 +576,9 @@ public class TictactoeApplication implements CommandLineRunner {
             case "q":
                 newCommand = "quit";
                 break;
+            case "u":
+                newCommand = "undo";
+                break;
             default:
                 return newCommand;
         }
@@ -486,8 +645,16 @@ public class TictactoeApplication implements CommandLineRunner {
      * @return true if the {@param string} a number and false otherwise
      */
     private static boolean isCoordinateValid(String string) {
-        return string.matches("\\d+")
-                || string.matches("-\\d+");
+        int start = string.startsWith("-") ? 1 : 0;
+        if (string.length() == start) {
+            return false;
+        }
+        for (int i = start; i < string.length(); i++) {
+            if (string.charAt(i) < '0' || string.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -503,31 +670,34 @@ public class TictactoeApplication implements CommandLineRunner {
      * @param playBoard
      *         the game board
      *
-     * @return null if command parameters (positions) are wrong and
-     *         {@link Point}, if positions were entered correctly
+     * @return {@link Coordinates#NONE} if command parameters (positions) are wrong and
+     *         the positions packed by {@link Coordinates#pack(int, int)}, if positions were entered correctly
      */
-    private static Point checkCommOfThree(String[] tokens, String note, Player player, Scanner scanner, PlayBoard playBoard) {
+    private static int checkCommOfThree(String[] tokens, String note, Player player, Scanner scanner, PlayBoard playBoard) {
         int positionI;
         int positionJ;
 
         if (tokens.length != 3) {
             error(WRONG_COMMAND, note, TRY_AGAIN, player, scanner, playBoard);
-            return null;
+            return Coordinates.NONE;
         } else if (!isCoordinateValid(tokens[1])
                 || !isCoordinateValid(tokens[2])) {
             error(WRONG_POSITION1, NOTE_POSITIONS, TRY_AGAIN, player, scanner, playBoard);
-            return null;
+            return Coordinates.NONE;
         } else {
             positionI = parseValue(tokens[1]);
             positionJ = parseValue(tokens[2]);
             // catches NumberFormatException
-            if (parseValue(tokens[1]) == Integer.MIN_VALUE
-                    || (parseValue(tokens[2]) == Integer.MIN_VALUE)) {
+            if (positionI == Integer.MIN_VALUE
+                    || positionJ == Integer.MIN_VALUE) {
                 error(WRONG_POSITION2, NOTE_POSITIONS,
                         TRY_ANOTHER_POSITIONS, player, scanner, playBoard);
-                return null;
+                return Coordinates.NONE;
+            } else if (!Coordinates.isPackable(positionI, positionJ)) {
+                error(TRY_ANOTHER_POSITIONS, NOTE_POSITIONS, TRY_AGAIN, player, scanner, playBoard);
+                return Coordinates.NONE;
             } else {
-                return Point.builder().positionI(positionI).positionJ(positionJ).build();
+                return Coordinates.pack(positionI, positionJ);
             }
         }
     }
@@ -0,0 +1,246 @@
+package com.bakhanovich.tictactoe.model;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.BitBoards;
+import com.bakhanovich.tictactoe.utility.BoardPrinter;
+import com.bakhanovich.tictactoe.utility.Constants;
+
+/**
+ * An immutable position of the TicTacToe game. The whole position is encoded in one int:
+ * the tiles of both players, the current {@link Player}, the first {@link Player} and the winner.
+ * A {@link #move(int, int)} returns a new {@link BoardPosition}, therefore positions can be
+ * shared and branched by many threads without copying. Only the standard {@link PlayBoard#SIZE} by
+ * {@link PlayBoard#SIZE} grid fits into the code, larger boards are not supported.
+ */
+public final class BoardPosition {
+    /** the start position of the game, the first and the current player is {@link Player#PLAYER1} */
+    public static final BoardPosition EMPTY = new BoardPosition(0);
+
+    private static final int CELLS = PlayBoard.SIZE * PlayBoard.SIZE;
+    private static final int SECOND_PLAYER_SHIFT = CELLS;
+    private static final int CURRENT_PLAYER_BIT = 1 << (2 * CELLS);
+    private static final int FIRST_PLAYER_BIT = CURRENT_PLAYER_BIT << 1;
+    private static final int WINNER_SHIFT = 2 * CELLS + 2;
+
+    private final int code;
+
+    private BoardPosition(int code) {
+        this.code = code;
+    }
+
+    /**
+     * Creates the {@link BoardPosition} of the state of the {@link PlayBoard}.
+     *
+     * @param board
+     *         the {@link PlayBoard}
+     * @return the {@link BoardPosition} with the same tiles, players and winner as the board
+     */
+    public static BoardPosition of(PlayBoard board) {
+        int firstPlayerTiles = 0;
+        int secondPlayerTiles = 0;
+        for (int i = 0; i < PlayBoard.SIZE; i++) {
+            for (int j = 0; j < PlayBoard.SIZE; j++) {
+                Player player = board.getPlayerAt(i, j);
+                if (player == Player.PLAYER1) {
+                    firstPlayerTiles |= BitBoards.bit(i, j);
+                } else if (player == Player.PLAYER2) {
+                    secondPlayerTiles |= BitBoards.bit(i, j);
+                }
+            }
+        }
+        return of(firstPlayerTiles, secondPlayerTiles, board.getCurrentPlayer(), board.getFirstPlayer(),
+                board.getWinner());
+    }
+
+    /**
+     * Creates the {@link BoardPosition} of the tiles of both players.
+     *
+     * @param firstPlayerTiles
+     *         the mask of the tiles of {@link Player#PLAYER1}
+     * @param secondPlayerTiles
+     *         the mask of the tiles of {@link Player#PLAYER2}
+     * @param currentPlayer
+     *         the {@link Player}, who makes the next move
+     * @param firstPlayer
+     *         the {@link Player}, who made the first move of the game
+     * @param winner
+     *         the {@link Player} who won the game or null
+     * @return the {@link BoardPosition}
+     */
+    public static BoardPosition of(int firstPlayerTiles, int secondPlayerTiles, Player currentPlayer,
+                                   Player firstPlayer, Player winner) {
+        if ((firstPlayerTiles & secondPlayerTiles) != 0
+                || ((firstPlayerTiles | secondPlayerTiles) & ~BitBoards.FULL_BOARD) != 0) {
+            throw new IllegalArgumentException(Constants.MOVE_NOT_ALLOWED);
+        }
+        return new BoardPosition(firstPlayerTiles
+                | secondPlayerTiles << SECOND_PLAYER_SHIFT
+                | (currentPlayer == Player.PLAYER2 ? CURRENT_PLAYER_BIT : 0)
+                | (firstPlayer == Player.PLAYER2 ? FIRST_PLAYER_BIT : 0)
+                | (winner == null ? 0 : winner.ordinal() + 1) << WINNER_SHIFT);
+    }
+
+    /**
+     * Executes a move of the current player. This instance is not changed, a new
+     * {@link BoardPosition} with the move executed and the other player to move is returned.
+     *
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @return the new {@link BoardPosition}
+     * @throws IllegalMoveException
+     *         if the cell is occupied or the game is already over
+     * @throws IllegalArgumentException
+     *         if the cell is not on the board
+     */
+    public BoardPosition move(int row, int col) throws IllegalMoveException, IllegalArgumentException {
+        if ((row < 0 || row >= PlayBoard.SIZE) || (col < 0 || col >= PlayBoard.SIZE)) {
+            throw new IllegalArgumentException(Constants.MOVE_NOT_ALLOWED);
+        }
+        if (isGameOver()) {
+            throw new IllegalMoveException(Constants.getGameOver());
+        }
+        int bit = BitBoards.bit(row, col);
+        if (((getFirstPlayerTiles() | getSecondPlayerTiles()) & bit) != 0) {
+            throw new IllegalMoveException(Constants.MOVE_NOT_ALLOWED);
+        }
+        Player player = getCurrentPlayer();
+        int tiles = (player == Player.PLAYER1 ? getFirstPlayerTiles() : getSecondPlayerTiles()) | bit;
+        int newCode = (code | (player == Player.PLAYER1 ? bit : bit << SECOND_PLAYER_SHIFT)) ^ CURRENT_PLAYER_BIT;
+        if (BitBoards.isWinningMove(tiles, row, col)) {
+            newCode |= (player.ordinal() + 1) << WINNER_SHIFT;
+        }
+        return new BoardPosition(newCode);
+    }
+
+    /**
+     * Returns the {@link BoardPosition} with the other current {@link Player}.
+     *
+     * @param player
+     *         the {@link Player}, who makes the next move
+     * @return the {@link BoardPosition} with the same tiles
+     */
+    public BoardPosition withCurrentPlayer(Player player) {
+        return player == getCurrentPlayer() ? this : new BoardPosition(code ^ CURRENT_PLAYER_BIT);
+    }
+
+    /**
+     * Returns the mask of the tiles of {@link Player#PLAYER1}.
+     *
+     * @return the mask of the tiles
+     */
+    public int getFirstPlayerTiles() {
+        return code & BitBoards.FULL_BOARD;
+    }
+
+    /**
+     * Returns the mask of the tiles of {@link Player#PLAYER2}.
+     *
+     * @return the mask of the tiles
+     */
+    public int getSecondPlayerTiles() {
+        return (code >>> SECOND_PLAYER_SHIFT) & BitBoards.FULL_BOARD;
+    }
+
+    /**
+     * Returns the {@link Player}, who makes the next move.
+     *
+     * @return the current {@link Player}
+     */
+    public Player getCurrentPlayer() {
+        return (code & CURRENT_PLAYER_BIT) == 0 ? Player.PLAYER1 : Player.PLAYER2;
+    }
+
+    /**
+     * Returns the {@link Player}, who made the first move of the game.
+     *
+     * @return the first {@link Player}
+     */
+    public Player getFirstPlayer() {
+        return (code & FIRST_PLAYER_BIT) == 0 ? Player.PLAYER1 : Player.PLAYER2;
+    }
+
+    /**
+     * Returns the {@link Player}, whose tile is placed on the cell.
+     *
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @return the {@link Player} or null if the cell is empty
+     */
+    public Player getPlayerAt(int row, int col) {
+        int bit = BitBoards.bit(row, col);
+        if ((getFirstPlayerTiles() & bit) != 0) {
+            return Player.PLAYER1;
+        }
+        if ((getSecondPlayerTiles() & bit) != 0) {
+            return Player.PLAYER2;
+        }
+        return null;
+    }
+
+    /**
+     * Returns the {@link Player} who won the game.
+     *
+     * @return the winner or null if nobody has won
+     */
+    public Player getWinner() {
+        int winner = code >>> WINNER_SHIFT;
+        if (winner == 0) {
+            return null;
+        }
+        return winner == 1 ? Player.PLAYER1 : Player.PLAYER2;
+    }
+
+    /**
+     * Checks if the game is over. Either one of the players has won or the board is filled.
+     *
+     * @return {@code true} if and only if the game is over.
+     */
+    public boolean isGameOver() {
+        return (code >>> WINNER_SHIFT) != 0
+                || (getFirstPlayerTiles() | getSecondPlayerTiles()) == BitBoards.FULL_BOARD;
+    }
+
+    /**
+     * Returns the int, which encodes the whole position. Equal positions have equal codes.
+     *
+     * @return the code of the position
+     */
+    public int getCode() {
+        return code;
+    }
+
+    /**
+     * Defines whether this {@link BoardPosition} equal to another object.
+     *
+     * @param other
+     *         is the object to be compared with.
+     * @return {@code true} if the other object is a {@link BoardPosition} with the same code
+     */
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof BoardPosition && ((BoardPosition) other).code == code;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        return code;
+    }
+
+    /**
+     * Gets the string representation of this position in the same format as {@link PlayBoard#toString()}.
+     *
+     * @return the string representation of the position
+     */
+    @Override
+    public String toString() {
+        return BoardPrinter.print(getFirstPlayer(), this::getPlayerAt);
+    }
+}
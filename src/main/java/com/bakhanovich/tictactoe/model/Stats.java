@@ -4,13 +4,16 @@ import lombok.Builder;
 import lombok.Getter;
 
 /**
- * A {@link Stats} encapsulates the pair of Integer, which corresponds amount of winning games by both players.
+ * A {@link Stats} encapsulates the pair of Long, which corresponds amount of winning games by both players,
+ * and the amount of the ties, which are counted by the simulations. The counters are long, because the
+ * simulations play billions of games.
  */
 @Getter
 @Builder
 public class Stats {
-    private int firstPlayerWins;
-    private int secondPlayerWins;
+    private long firstPlayerWins;
+    private long secondPlayerWins;
+    private long ties;
 
     /**
      * Increment the firstPlayerWins by 1.
@@ -25,4 +28,38 @@ public class Stats {
     public void incrementSecondPlayerWins() {
         secondPlayerWins++;
     }
+
+    /**
+     * Decrement the firstPlayerWins by 1, if the winning move was taken back.
+     */
+    public void decrementFirstPlayerWins() {
+        firstPlayerWins--;
+    }
+
+    /**
+     * Decrement the secondPlayerWins by 1, if the winning move was taken back.
+     */
+    public void decrementSecondPlayerWins() {
+        secondPlayerWins--;
+    }
+
+    /**
+     * Increment the ties by 1.
+     */
+    public void incrementTies() {
+        ties++;
+    }
+
+    /**
+     * Adds the counts of the other {@link Stats}, e.g. to merge the results of the threads of a simulation.
+     * The counters are not synchronized, so the merged {@link Stats} should not be updated concurrently.
+     *
+     * @param other
+     *         the {@link Stats} to add
+     */
+    public void add(Stats other) {
+        firstPlayerWins += other.firstPlayerWins;
+        secondPlayerWins += other.secondPlayerWins;
+        ties += other.ties;
+    }
 }
@@ -5,11 +5,36 @@ import lombok.Builder;
 import lombok.Getter;
 
 /**
- * A {@link Tile} in the {@link PlayBoard}
+ * A {@link Tile} in the {@link PlayBoard}. A {@link Tile} is immutable, therefore the canonical
+ * instances returned by {@link #of(Player, Sign)} are shared between all boards.
  */
 @Getter
 @Builder
 public class Tile {
-    private Player player;
-    private Sign sign;
+    /** the canonical tiles by the ordinal of the {@link Player} and the ordinal of the {@link Sign} */
+    private static final Tile[][] TILES = new Tile[Player.values().length][Sign.values().length];
+
+    static {
+        for (Player player : Player.values()) {
+            for (Sign sign : Sign.values()) {
+                TILES[player.ordinal()][sign.ordinal()] = Tile.builder().player(player).sign(sign).build();
+            }
+        }
+    }
+
+    private final Player player;
+    private final Sign sign;
+
+    /**
+     * Returns the canonical {@link Tile} of the {@link Player} with the {@link Sign}.
+     *
+     * @param player
+     *         the {@link Player}
+     * @param sign
+     *         the {@link Sign}
+     * @return the shared {@link Tile} instance
+     */
+    public static Tile of(Player player, Sign sign) {
+        return TILES[player.ordinal()][sign.ordinal()];
+    }
 }
@@ -0,0 +1,43 @@
+package com.bakhanovich.tictactoe.service;
+
+import com.bakhanovich.tictactoe.utility.Coordinates;
+
+import java.time.Duration;
+
+/**
+ * Interface for an engine, which computes the move of the computer player.
+ */
+public interface Engine {
+    /**
+     * Computes the best move of the current player of the board without the time limit, see
+     * {@link #bestMove(PlayBoard, Duration)}.
+     *
+     * @param board The board, the current player of which makes the move.
+     * @return The slot of the move packed by {@link Coordinates#pack(int, int)} or
+     *         {@link Coordinates#NONE} if the game is over.
+     */
+    default int bestMove(PlayBoard board) {
+        return bestMove(board, null);
+    }
+
+    /**
+     * Computes the best move of the current player of the board within the time budget. The search
+     * deepens iteratively and returns the best move of the deepest completed iteration, when the budget
+     * is spent or the search is cancelled by {@link #cancel()}. The board may be used by the search,
+     * but is restored as it was before the call.
+     *
+     * @param board The board, the current player of which makes the move.
+     * @param budget The time of the search, {@code null} if the search has no time limit.
+     * @return The slot of the move packed by {@link Coordinates#pack(int, int)} or
+     *         {@link Coordinates#NONE} if the game is over.
+     */
+    int bestMove(PlayBoard board, Duration budget);
+
+    /**
+     * Stops the running search, e.g. if the session of the game is closed. The search returns
+     * the best move found so far. If no search is running, the next search is stopped, so the
+     * cancellation, which arrives just before the search starts, is not lost. Can be called from
+     * any thread.
+     */
+    void cancel();
+}
@@ -3,16 +3,37 @@ package com.bakhanovich.tictactoe.service;
 
 import com.bakhanovich.tictactoe.exception.IllegalMoveException;
 import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+
+import java.time.Duration;
 
 /**
  * Interface for a TicTacToe game.
  */
 public interface PlayBoard {
     /**
-     * The number of rows and columns of the game grid. Originally 3.
+     * The number of rows and columns of the standard game grid. Originally 3.
      */
     int SIZE = 3;
 
+    /**
+     * Gets the number of rows and columns of the game grid.
+     *
+     * @return The size of the grid, {@link #SIZE} by default, 0 if the grid has no limits.
+     */
+    default int getSize() {
+        return SIZE;
+    }
+
+    /**
+     * Gets the number of tiles in a row, which are needed to win the game.
+     *
+     * @return The win length, {@link #SIZE} by default.
+     */
+    default int getWinLength() {
+        return SIZE;
+    }
+
     /**
      * Gets the player who should start or already has started the game.
      *
@@ -28,15 +49,14 @@ public interface PlayBoard {
     Player getCurrentPlayer();
 
     /**
-     * Executes a move. This method does not change the state of this
-     * instance, which is treated here as immutable. Instead, a new board/game
-     * is returned, which is a copy of {@code this} with the move executed.
+     * Executes a move of the current player. The move is applied in place
+     * and {@code this} is returned, the current player is not switched by the move.
      *
      * @param row The slot's row number where a tile of the move should
      *        be placed on.
      * @param col The slot's column number where a tile of the move
      *        should be placed on.
-     * @return A new board with the move executed. If the move is not valid,
+     * @return The board with the move executed. If the move is not valid,
      *         e.g., the defined slot was occupied then {@code null} will be returned.
      * @throws IllegalMoveException If the game is already over.
      * @throws IllegalArgumentException If the provided parameters are invalid,
@@ -45,6 +65,78 @@ public interface PlayBoard {
     PlayBoard move(int row, int col) throws IllegalMoveException,
             IllegalArgumentException;
 
+    /**
+     * Executes a move of the current player, see {@link #move(int, int)}.
+     *
+     * @param coordinate The slot's row and column packed by {@link Coordinates#pack(int, int)}.
+     * @return The board with the move executed.
+     * @throws IllegalMoveException If the slot is occupied.
+     * @throws IllegalArgumentException If the slot is not on the grid.
+     */
+    default PlayBoard move(int coordinate) throws IllegalMoveException,
+            IllegalArgumentException {
+        return move(Coordinates.row(coordinate), Coordinates.col(coordinate));
+    }
+
+    /**
+     * Gets the player, whose tile is placed on the slot.
+     *
+     * @param row The slot's row number.
+     * @param col The slot's column number.
+     * @return The player or {@code null} if the slot is empty.
+     */
+    Player getPlayerAt(int row, int col);
+
+    /**
+     * Takes back the last move. The tile is removed and the winner, the
+     * current player and the hash of the position are restored as they
+     * were before the move.
+     *
+     * @throws IllegalMoveException If there is no move to take back.
+     */
+    void undo() throws IllegalMoveException;
+
+    /**
+     * Gets the number of the moves, which can be taken back by {@link #undo()}.
+     *
+     * @return The number of the moves made since the board was cleared.
+     */
+    int getHistorySize();
+
+    /**
+     * Takes back the last move, which is expected on the slot, see {@link #undo()}.
+     *
+     * @param row The slot's row number of the last move.
+     * @param col The slot's column number of the last move.
+     * @throws IllegalMoveException If the last move was not made on the slot.
+     */
+    void unmake(int row, int col) throws IllegalMoveException;
+
+    /**
+     * Computes the best move of the current player by the built-in {@link Engine}.
+     * The board is left as it was before the call.
+     *
+     * @return The slot of the move packed by {@link Coordinates#pack(int, int)} or
+     *         {@link Coordinates#NONE} if the game is over.
+     */
+    int bestMove();
+
+    /**
+     * Computes the best move of the current player by the built-in {@link Engine}
+     * within the time budget, see {@link Engine#bestMove(PlayBoard, Duration)}.
+     *
+     * @param budget The time of the search, {@code null} if the search has no time limit.
+     * @return The slot of the move packed by {@link Coordinates#pack(int, int)} or
+     *         {@link Coordinates#NONE} if the game is over.
+     */
+    int bestMove(Duration budget);
+
+    /**
+     * Stops the search of the best move by the built-in {@link Engine}, e.g. if the session
+     * of the game is closed, see {@link Engine#cancel()}. Can be called from any thread.
+     */
+    void cancel();
+
     /**
      * Checks if the game is over. Either one of the players has won
      * or there is a tie, i.e., no player can perform a move anymore.
@@ -61,6 +153,25 @@ public interface PlayBoard {
      */
     Player getWinner();
 
+    /**
+     * Gets the static evaluation of the position, which is used by the search at the depth limit.
+     * The positive score favours {@link Player#PLAYER1}, the negative one {@link Player#PLAYER2}.
+     *
+     * @return The score of the position, 0 by default, i.e. the position is not evaluated.
+     */
+    default int getEvaluation() {
+        return 0;
+    }
+
+    /**
+     * Gets the 64-bit Zobrist hash of the position: the tiles on the board and
+     * the current player. The hash is updated incrementally by every move,
+     * undo and {@link #clearBoard()}, equal positions have equal hashes.
+     *
+     * @return The hash of the position.
+     */
+    long getPositionHash();
+
     /**
      * Gets the string representation of this board as row x column matrix. Each
      * slot is represented by one the three chars ' ', 'X', or 'O'. ' ' means
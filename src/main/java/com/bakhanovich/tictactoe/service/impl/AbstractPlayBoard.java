@@ -0,0 +1,316 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.model.Stats;
+import com.bakhanovich.tictactoe.service.Engine;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.BoardPrinter;
+import com.bakhanovich.tictactoe.utility.Constants;
+import com.bakhanovich.tictactoe.utility.Zobrist;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * The base of the {@link PlayBoard} implementations. Contains the state of the game, which does not
+ * depend on the way the tiles are stored: the current {@link Player}, the {@link Player}, that made
+ * the first move of the game, the winner, the {@link Stats} of the game and the history of the moves,
+ * which is used to take the moves back.
+ */
+@Getter
+public abstract class AbstractPlayBoard implements PlayBoard {
+    private Player currentPlayer;
+    private Player firstPlayer;
+    private Player winner;
+    private Stats stats;
+    @Getter(AccessLevel.NONE)
+    private long tilesHash;
+    @Getter(AccessLevel.NONE)
+    private int[] historyRows;
+    @Getter(AccessLevel.NONE)
+    private int[] historyCols;
+    private int historySize;
+    /** the index of the move in the history, which has won the game, or -1 */
+    @Getter(AccessLevel.NONE)
+    private int winningMove;
+    /** the {@link Engine} of the board, is created by the first {@link #getEngine()} */
+    @Getter(AccessLevel.NONE)
+    private Engine engine;
+
+    /**
+     * Constructs a new start {@link AbstractPlayBoard}.
+     */
+    protected AbstractPlayBoard() {
+        this.currentPlayer = Player.PLAYER1;
+        this.firstPlayer = Player.PLAYER1;
+        this.stats = Stats.builder().firstPlayerWins(0).secondPlayerWins(0).build();
+        this.historyRows = new int[SIZE * SIZE];
+        this.historyCols = new int[SIZE * SIZE];
+        this.winningMove = -1;
+    }
+
+    /**
+     * Removes the tile from the cell. Is called by {@link #unmake(int, int)} to take back the move,
+     * the implementation should restore the storage of the tiles, the counters and the hash of the tiles.
+     *
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @param player
+     *         the {@link Player}, whose tile is removed
+     */
+    protected abstract void removeTile(int row, int col, Player player);
+
+    /**
+     * Removes all tiles from the board. Is called by {@link #clearBoard()}.
+     */
+    protected abstract void clearTiles();
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public Player getFirstPlayer() {
+        return firstPlayer;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public Player getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void setCurrentPlayer(Player player) {
+        currentPlayer = player;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void setFirstPlayer(Player player) {
+        firstPlayer = player;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void setWinner(Player player) {
+        winner = player;
+    }
+
+    /**
+     * Sets the {@link Engine}, which computes the {@link #bestMove()}. The board of the application
+     * gets the {@link Engine} bean.
+     *
+     * @param engine
+     *         the {@link Engine}
+     */
+    @Autowired(required = false)
+    public synchronized void setEngine(Engine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     * Gets the {@link Engine}, which computes the {@link #bestMove()}. The {@link MinimaxEngine} is created
+     * on the first call, unless another {@link Engine} has been set, so the boards, which never search,
+     * do not allocate its tables.
+     *
+     * @return the {@link Engine}
+     */
+    public synchronized Engine getEngine() {
+        if (engine == null) {
+            engine = new MinimaxEngine();
+        }
+        return engine;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public int bestMove() {
+        return getEngine().bestMove(this);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public int bestMove(Duration budget) {
+        return getEngine().bestMove(this, budget);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void cancel() {
+        getEngine().cancel();
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public long getPositionHash() {
+        return currentPlayer == Player.PLAYER2 ? tilesHash ^ Zobrist.PLAYER2_TO_MOVE : tilesHash;
+    }
+
+    /**
+     * Adds the Zobrist key of a placed tile to the hash or removes the key of a removed tile.
+     *
+     * @param key
+     *         the Zobrist key of the tile
+     */
+    protected void toggleTileHash(long key) {
+        tilesHash ^= key;
+    }
+
+    private void resetTileHash() {
+        tilesHash = 0;
+    }
+
+    /**
+     * Adds the move, which has just been made, to the history of the moves.
+     *
+     * @param row
+     *         the row of the placed tile
+     * @param col
+     *         the column of the placed tile
+     */
+    protected void recordMove(int row, int col) {
+        if (historySize == historyRows.length) {
+            historyRows = Arrays.copyOf(historyRows, historySize * 2);
+            historyCols = Arrays.copyOf(historyCols, historySize * 2);
+        }
+        historyRows[historySize] = row;
+        historyCols[historySize] = col;
+        historySize++;
+    }
+
+    /**
+     * Returns the row of the move in the history.
+     *
+     * @param index
+     *         the index of the move, from 0 to historySize - 1
+     * @return the row of the move
+     */
+    protected int getHistoryRow(int index) {
+        return historyRows[index];
+    }
+
+    /**
+     * Returns the column of the move in the history.
+     *
+     * @param index
+     *         the index of the move, from 0 to historySize - 1
+     * @return the column of the move
+     */
+    protected int getHistoryCol(int index) {
+        return historyCols[index];
+    }
+
+    /**
+     * Sets the winner after the last recorded move has won the game and organizes the statistics.
+     *
+     * @param winner
+     *         the {@link Player} who won the game
+     */
+    protected void declareWinner(Player winner) {
+        setWinner(winner);
+        winningMove = historySize - 1;
+        if (winner.equals(Player.PLAYER1)) {
+            stats.incrementFirstPlayerWins();
+        } else {
+            stats.incrementSecondPlayerWins();
+        }
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void undo() throws IllegalMoveException {
+        if (historySize == 0) {
+            throw new IllegalMoveException(Constants.NOTHING_TO_UNDO);
+        }
+        unmake(historyRows[historySize - 1], historyCols[historySize - 1]);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void unmake(int row, int col) throws IllegalMoveException {
+        if (historySize == 0 || historyRows[historySize - 1] != row || historyCols[historySize - 1] != col) {
+            throw new IllegalMoveException(Constants.UNDO_NOT_ALLOWED);
+        }
+        Player player = getPlayerAt(row, col);
+        removeTile(row, col, player);
+        historySize--;
+        if (winningMove == historySize) {
+            winningMove = -1;
+            setWinner(null);
+            if (player.equals(Player.PLAYER1)) {
+                stats.decrementFirstPlayerWins();
+            } else {
+                stats.decrementSecondPlayerWins();
+            }
+        }
+        currentPlayer = player;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void clearBoard() {
+        clearTiles();
+        resetTileHash();
+        historySize = 0;
+        winningMove = -1;
+        setWinner(null);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void getStatistics() {
+        System.out.printf(
+                "%s has won %s times. \n%s has won %s times.%n",
+                Player.PLAYER1.toString(), stats.getFirstPlayerWins(),
+                Player.PLAYER2.toString(), stats.getSecondPlayerWins()
+        );
+
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return BoardPrinter.print(getSize(), firstPlayer, this::getPlayerAt);
+    }
+}
@@ -0,0 +1,98 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.BitBoards;
+import com.bakhanovich.tictactoe.utility.Constants;
+import com.bakhanovich.tictactoe.utility.Zobrist;
+import lombok.Getter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Implements a {@link PlayBoard} of the Game, which stores the tiles of each {@link Player}
+ * in a bitmask. The winning combinations are checked against the precomputed masks of
+ * {@link BitBoards}.
+ * The implementation is used if the property 'tictactoe.board' is set to 'bitboard'.
+ */
+@Component
+@ConditionalOnProperty(name = "tictactoe.board", havingValue = "bitboard")
+@Getter
+public class BitBoardPlayBoardImpl extends AbstractPlayBoard {
+    private static final long[] ZOBRIST_KEYS = Zobrist.keys(SIZE);
+    private int firstPlayerTiles;
+    private int secondPlayerTiles;
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public PlayBoard move(int row, int col) throws IllegalMoveException, IllegalArgumentException {
+        if ((row < 0 || row >= SIZE) || (col < 0 || col >= SIZE)) {
+            throw new IllegalArgumentException(Constants.MOVE_NOT_ALLOWED);
+        }
+        int bit = BitBoards.bit(row, col);
+        if (((firstPlayerTiles | secondPlayerTiles) & bit) != 0) {
+            throw new IllegalMoveException(Constants.MOVE_NOT_ALLOWED);
+        }
+        int tiles;
+        if (getCurrentPlayer() == Player.PLAYER1) {
+            tiles = firstPlayerTiles |= bit;
+        } else {
+            tiles = secondPlayerTiles |= bit;
+        }
+        toggleTileHash(ZOBRIST_KEYS[2 * (row * SIZE + col) + getCurrentPlayer().ordinal()]);
+        recordMove(row, col);
+
+        // check possible end of the game, only the lines through the placed tile can be completed by this move
+        if (getWinner() == null && BitBoards.isWinningMove(tiles, row, col)) {
+            declareWinner(getCurrentPlayer());
+        }
+        return this;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public boolean isGameOver() {
+        return (getWinner() != null || (firstPlayerTiles | secondPlayerTiles) == BitBoards.FULL_BOARD
+                || !BitBoards.hasLiveLine(firstPlayerTiles, secondPlayerTiles));
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    protected void removeTile(int row, int col, Player player) {
+        int bit = BitBoards.bit(row, col);
+        firstPlayerTiles &= ~bit;
+        secondPlayerTiles &= ~bit;
+        toggleTileHash(ZOBRIST_KEYS[2 * (row * SIZE + col) + player.ordinal()]);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    protected void clearTiles() {
+        firstPlayerTiles = 0;
+        secondPlayerTiles = 0;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public Player getPlayerAt(int row, int col) {
+        int bit = BitBoards.bit(row, col);
+        if ((firstPlayerTiles & bit) != 0) {
+            return Player.PLAYER1;
+        }
+        if ((secondPlayerTiles & bit) != 0) {
+            return Player.PLAYER2;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.service.Engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The cooperative cancellation of the searches of an {@link Engine}. Every search gets the generation:
+ * the number of the searches, which have finished before it. {@link #cancel()} marks the generation of
+ * the running search or, if no search is running, of the next one. So the cancellation, which arrives
+ * just before the search starts, is not lost, and a new search does not clear the shared flag.
+ */
+final class Cancellation {
+    private final AtomicLong generation = new AtomicLong();
+    private volatile long cancelledGeneration = -1;
+
+    /**
+     * Starts the search, {@link #end()} must be called, when it is finished.
+     *
+     * @return the generation of the search
+     */
+    long begin() {
+        return generation.get();
+    }
+
+    /**
+     * Finishes the search, the next search gets the next generation.
+     */
+    void end() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * Cancels the running search or the next one, if no search is running. Can be called from any thread.
+     */
+    void cancel() {
+        cancelledGeneration = generation.get();
+    }
+
+    /**
+     * Checks whether the search is cancelled.
+     *
+     * @param generation
+     *         the generation of the search, which is returned by {@link #begin()}
+     * @return true if the search should stop
+     */
+    boolean isCancelled(long generation) {
+        return cancelledGeneration == generation;
+    }
+}
@@ -0,0 +1,216 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Constants;
+import com.bakhanovich.tictactoe.utility.PatternEvaluator;
+import com.bakhanovich.tictactoe.utility.Zobrist;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Implements a {@link PlayBoard} of the Game with a configurable size of the grid and a configurable
+ * number of tiles in a row, which are needed to win (e.g. 15 x 15 with 5 in a row). The tiles are
+ * stored in a byte array, the winning combination is found by counting the run of the tiles of the
+ * player outward from the last move, so the check does not depend on the size of the grid.
+ * The board maintains the {@link PatternEvaluator} of the position, which is updated by every move and undo.
+ * The implementation is used if the property 'tictactoe.board' is set to 'k-in-a-row', the size and
+ * the win length are set by the properties 'tictactoe.board.size' and 'tictactoe.board.win-length'.
+ */
+@Component
+@ConditionalOnProperty(name = "tictactoe.board", havingValue = "k-in-a-row")
+@Getter
+public class KInARowPlayBoardImpl extends AbstractPlayBoard {
+    private static final byte EMPTY = 0;
+    private static final Player[] PLAYERS = Player.values();
+    /** the row and the column steps of the directions: horizontal, vertical, diagonal and anti-diagonal */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int size;
+    private final int winLength;
+    private final byte[] cells;
+    private final long[] zobristKeys;
+    private int filledCells;
+    /** the static evaluation of the position, null if the win length is not supported */
+    @Getter(AccessLevel.NONE)
+    private final PatternEvaluator evaluator;
+
+    /**
+     * Constructs a new start {@link KInARowPlayBoardImpl}.
+     *
+     * @param size
+     *         the number of rows and columns of the grid
+     * @param winLength
+     *         the number of tiles in a row, which are needed to win the game
+     */
+    @Autowired
+    public KInARowPlayBoardImpl(@Value("${tictactoe.board.size:15}") int size,
+                                @Value("${tictactoe.board.win-length:5}") int winLength) {
+        if (size < 1 || winLength < 1 || winLength > size) {
+            throw new IllegalArgumentException("The win length must be from 1 to the size of the board");
+        }
+        this.size = size;
+        this.winLength = winLength;
+        this.cells = new byte[size * size];
+        this.zobristKeys = Zobrist.keys(size);
+        this.evaluator = PatternEvaluator.supports(winLength) ? new PatternEvaluator(size, winLength) : null;
+    }
+
+    /**
+     * Copies the tiles, the current and the first players of the square board. The winner is not
+     * copied, the board should not be won. The history of the copy contains the tiles in row-major
+     * order, so only the moves made on the copy can be taken back.
+     *
+     * @param board
+     *         the board, the size of which is positive
+     * @return the copy
+     */
+    public static KInARowPlayBoardImpl copyOf(PlayBoard board) {
+        int size = board.getSize();
+        KInARowPlayBoardImpl copy = new KInARowPlayBoardImpl(size, board.getWinLength());
+        copy.setFirstPlayer(board.getFirstPlayer());
+        try {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    Player player = board.getPlayerAt(row, col);
+                    if (player != null) {
+                        copy.setCurrentPlayer(player);
+                        copy.move(row, col);
+                    }
+                }
+            }
+        } catch (IllegalMoveException e) {
+            // the cells of the copy are filled once
+            throw new IllegalStateException(e);
+        }
+        copy.setCurrentPlayer(board.getCurrentPlayer());
+        return copy;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public PlayBoard move(int row, int col) throws IllegalMoveException, IllegalArgumentException {
+        if ((row < 0 || row >= size) || (col < 0 || col >= size)) {
+            throw new IllegalArgumentException(Constants.MOVE_NOT_ALLOWED);
+        }
+        if (cells[row * size + col] != EMPTY) {
+            throw new IllegalMoveException(Constants.MOVE_NOT_ALLOWED);
+        }
+        byte tile = toTile(getCurrentPlayer());
+        cells[row * size + col] = tile;
+        filledCells++;
+        toggleTileHash(zobristKeys[2 * (row * size + col) + getCurrentPlayer().ordinal()]);
+        if (evaluator != null) {
+            evaluator.place(row, col, getCurrentPlayer());
+        }
+        recordMove(row, col);
+
+        // check possible end of the game, only the lines through the placed tile can be completed by this move
+        if (getWinner() == null && isWinningMove(row, col, tile)) {
+            declareWinner(getCurrentPlayer());
+        }
+        return this;
+    }
+
+    /**
+     * Checks whether the tile placed on the cell completes a run of the win length in any direction.
+     *
+     * @param row
+     *         the row of the placed tile
+     * @param col
+     *         the column of the placed tile
+     * @param tile
+     *         the placed tile
+     * @return true if the placed tile completes a winning combination
+     */
+    private boolean isWinningMove(int row, int col, byte tile) {
+        for (int[] direction : DIRECTIONS) {
+            int run = 1
+                    + countRun(row, col, direction[0], direction[1], tile)
+                    + countRun(row, col, -direction[0], -direction[1], tile);
+            if (run >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Counts the tiles of the same player next to the cell in the direction, at most win length - 1.
+     */
+    private int countRun(int row, int col, int rowStep, int colStep, byte tile) {
+        int count = 0;
+        int i = row + rowStep;
+        int j = col + colStep;
+        while (count < winLength - 1 && i >= 0 && i < size && j >= 0 && j < size
+                && cells[i * size + j] == tile) {
+            count++;
+            i += rowStep;
+            j += colStep;
+        }
+        return count;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public boolean isGameOver() {
+        return (getWinner() != null || filledCells == cells.length);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    protected void removeTile(int row, int col, Player player) {
+        cells[row * size + col] = EMPTY;
+        filledCells--;
+        toggleTileHash(zobristKeys[2 * (row * size + col) + player.ordinal()]);
+        if (evaluator != null) {
+            evaluator.remove(row, col, player);
+        }
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    protected void clearTiles() {
+        Arrays.fill(cells, EMPTY);
+        filledCells = 0;
+        if (evaluator != null) {
+            evaluator.clear();
+        }
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public int getEvaluation() {
+        return evaluator == null ? 0 : evaluator.getScore();
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public Player getPlayerAt(int row, int col) {
+        byte tile = cells[row * size + col];
+        return tile == EMPTY ? null : PLAYERS[tile - 1];
+    }
+
+    private static byte toTile(Player player) {
+        return (byte) (player.ordinal() + 1);
+    }
+}
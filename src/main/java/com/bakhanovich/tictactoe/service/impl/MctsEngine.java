@@ -0,0 +1,440 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.Engine;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Implements an {@link Engine}, which computes the move by the Monte Carlo Tree Search with the UCT
+ * selection. The search runs until the time budget of the move is spent and returns the most visited
+ * move, also if the search is cancelled. Every thread of the {@link ForkJoinPool} grows its own tree
+ * from the same position (root parallelism), the visits of the moves of the roots are summed up at the end.
+ * The nodes of a tree are stored in the primitive arrays, which are allocated once per engine, the
+ * playouts are played on the array of the cells, so the search does not allocate. The children of
+ * a node are the empty cells next to the tiles, the playouts choose among all empty cells.
+ * The engine is used by one caller at a time.
+ * The engine of the application is selected by the property 'tictactoe.engine' set to 'mcts', the budget of
+ * the move, which is used if 'tictactoe.move-budget' is not set, is the property 'tictactoe.engine.mcts-budget'.
+ */
+@Component
+@ConditionalOnProperty(name = "tictactoe.engine", havingValue = "mcts")
+public class MctsEngine implements Engine {
+    /** the default number of the nodes of one tree */
+    public static final int DEFAULT_MAX_NODES = 1 << 18;
+
+    /** the exploration constant of the UCT */
+    private static final double EXPLORATION = Math.sqrt(2);
+    /** the number of the iterations between the checks of the clock */
+    private static final int CLOCK_CHECK_INTERVAL = 16;
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final Duration budget;
+    private final ForkJoinPool pool;
+    private final int threads;
+    private final int maxNodes;
+    private final long seed;
+    private Tree[] trees;
+    private long playouts;
+    private final Cancellation cancellation = new Cancellation();
+    /** the generation of the running search, which is stopped by {@link #cancel()} */
+    private volatile long generation;
+
+    /**
+     * Constructs a new {@link MctsEngine}, which runs in all threads of the common {@link ForkJoinPool}.
+     *
+     * @param budget
+     *         the time of the search of one move
+     */
+    @Autowired
+    public MctsEngine(@Value("${tictactoe.engine.mcts-budget:1s}") Duration budget) {
+        this(budget, ForkJoinPool.commonPool(), ForkJoinPool.commonPool().getParallelism(), DEFAULT_MAX_NODES,
+                System.nanoTime());
+    }
+
+    /**
+     * Constructs a new {@link MctsEngine}.
+     *
+     * @param budget
+     *         the time of the search of one move
+     * @param pool
+     *         the {@link ForkJoinPool}, in which the trees are searched
+     * @param threads
+     *         the number of the trees, which are searched in parallel
+     * @param maxNodes
+     *         the number of the nodes of one tree
+     * @param seed
+     *         the seed of the random playouts
+     */
+    public MctsEngine(Duration budget, ForkJoinPool pool, int threads, int maxNodes, long seed) {
+        if (budget.isNegative() || threads < 1 || maxNodes < 2) {
+            throw new IllegalArgumentException("The budget, the threads and the nodes must be positive");
+        }
+        this.budget = budget;
+        this.pool = pool;
+        this.threads = threads;
+        this.maxNodes = maxNodes;
+        this.seed = seed;
+        this.trees = new Tree[threads];
+    }
+
+    /**
+     * Computes the best move within the time budget. The search without the budget would never stop,
+     * so the budget of the engine is used instead of {@code null}.
+     *
+     * @param board The board, the current player of which makes the move.
+     * @param budget The time of the search or {@code null} for the budget of the engine.
+     * @return The slot of the move packed by {@link Coordinates#pack(int, int)} or
+     *         {@link Coordinates#NONE} if the game is over.
+     */
+    @Override
+    public int bestMove(PlayBoard board, Duration budget) {
+        return bestMove(board, System.nanoTime() + (budget == null ? this.budget : budget).toNanos());
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void cancel() {
+        cancellation.cancel();
+    }
+
+    /**
+     * Searches until the deadline.
+     *
+     * @param board
+     *         the board, the size of which is positive
+     * @param deadline
+     *         the value of {@link System#nanoTime()}, at which the search stops
+     * @return the most visited move packed by {@link Coordinates#pack(int, int)}, the first empty cell if
+     *         the deadline has passed before the first playout or {@link Coordinates#NONE} if the game is over
+     */
+    synchronized int bestMove(PlayBoard board, long deadline) {
+        generation = cancellation.begin();
+        try {
+            return search(board, deadline);
+        } finally {
+            cancellation.end();
+        }
+    }
+
+    private int search(PlayBoard board, long deadline) {
+        if (board.isGameOver()) {
+            return Coordinates.NONE;
+        }
+        int size = board.getSize();
+        byte[] cells = new byte[size * size];
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Player player = board.getPlayerAt(row, col);
+                cells[row * size + col] = player == null ? 0 : (byte) (player.ordinal() + 1);
+            }
+        }
+        byte rootPlayer = (byte) (board.getCurrentPlayer().ordinal() + 1);
+        int winLength = board.getWinLength();
+        // the win in one move is played at once: the search does not tell it from the slower wins
+        for (int cell = 0; cell < cells.length; cell++) {
+            if (cells[cell] == 0) {
+                cells[cell] = rootPlayer;
+                boolean wins = isWinningMove(cells, size, winLength, cell, rootPlayer);
+                cells[cell] = 0;
+                if (wins) {
+                    playouts = 0;
+                    return Coordinates.pack(cell / size, cell % size);
+                }
+            }
+        }
+        List<Callable<Long>> tasks = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            if (trees[i] == null || trees[i].size != size) {
+                trees[i] = new Tree(maxNodes, size);
+            }
+            Tree tree = trees[i];
+            long treeSeed = seed + i;
+            tasks.add(() -> tree.search(this, cells, rootPlayer, winLength, deadline, treeSeed));
+        }
+        playouts = 0;
+        try {
+            for (Future<Long> result : pool.invokeAll(tasks)) {
+                playouts += result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        long[] visits = new long[size * size];
+        for (Tree tree : trees) {
+            tree.addRootVisits(visits);
+        }
+        int bestCell = -1;
+        for (int cell = 0; cell < visits.length; cell++) {
+            if (cells[cell] == 0 && (bestCell < 0 || visits[cell] > visits[bestCell])) {
+                bestCell = cell;
+            }
+        }
+        return bestCell < 0 ? Coordinates.NONE : Coordinates.pack(bestCell / size, bestCell % size);
+    }
+
+    /**
+     * Returns the number of the playouts of the last search, summed up over the threads.
+     *
+     * @return the number of the playouts
+     */
+    public long getPlayouts() {
+        return playouts;
+    }
+
+    /**
+     * Checks whether the tile of the player on the cell completes the line of the win length.
+     *
+     * @param cells
+     *         the cells of the board in row-major order: 0 for the empty cell, the ordinal of the player plus 1
+     * @param size
+     *         the number of rows and columns of the board
+     * @param winLength
+     *         the number of the tiles in a row, which are needed to win
+     * @param cell
+     *         the index of the cell with the tile of the player
+     * @param player
+     *         the ordinal of the player plus 1
+     * @return true if the tile completes the line
+     */
+    private static boolean isWinningMove(byte[] cells, int size, int winLength, int cell, byte player) {
+        int row = cell / size;
+        int col = cell % size;
+        for (int[] direction : DIRECTIONS) {
+            int run = 1 + countRun(cells, size, winLength, row, col, direction[0], direction[1], player)
+                    + countRun(cells, size, winLength, row, col, -direction[0], -direction[1], player);
+            if (run >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int countRun(byte[] cells, int size, int winLength, int row, int col, int rowStep, int colStep,
+                                byte player) {
+        int count = 0;
+        int i = row + rowStep;
+        int j = col + colStep;
+        while (count < winLength - 1 && i >= 0 && i < size && j >= 0 && j < size
+                && cells[i * size + j] == player) {
+            count++;
+            i += rowStep;
+            j += colStep;
+        }
+        return count;
+    }
+
+    /**
+     * The tree of one thread and the board of its playouts.
+     */
+    private static final class Tree {
+        private final int size;
+        // the nodes: the cell of the move into the node, the children, the visits and the rewards
+        // of the player, who made the move, in half points (2 for the win and 1 for the tie)
+        private final int[] move;
+        private final int[] firstChild;
+        private final int[] childCount;
+        private final int[] visits;
+        private final int[] rewards;
+        private int nodes;
+        // the board of the iteration: the cells and the list of the empty cells with the positions in it
+        private final byte[] cells;
+        private final int[] empties;
+        private final int[] emptyPositions;
+        private int emptyCount;
+        private final byte[] rootCells;
+        private final int[] rootEmpties;
+        private final int[] rootEmptyPositions;
+        private int rootEmptyCount;
+        private final int[] path;
+        private int winLength;
+
+        private Tree(int maxNodes, int size) {
+            this.size = size;
+            int cellCount = size * size;
+            move = new int[maxNodes];
+            firstChild = new int[maxNodes];
+            childCount = new int[maxNodes];
+            visits = new int[maxNodes];
+            rewards = new int[maxNodes];
+            cells = new byte[cellCount];
+            empties = new int[cellCount];
+            emptyPositions = new int[cellCount];
+            rootCells = new byte[cellCount];
+            rootEmpties = new int[cellCount];
+            rootEmptyPositions = new int[cellCount];
+            path = new int[cellCount + 1];
+        }
+
+        /**
+         * Runs the iterations until the deadline or the cancellation of the search.
+         *
+         * @return the number of the playouts
+         */
+        private long search(MctsEngine engine, byte[] position, byte rootPlayer, int winLength, long deadline,
+                            long seed) {
+            this.winLength = winLength;
+            System.arraycopy(position, 0, rootCells, 0, position.length);
+            rootEmptyCount = 0;
+            for (int cell = 0; cell < rootCells.length; cell++) {
+                if (rootCells[cell] == 0) {
+                    rootEmptyPositions[cell] = rootEmptyCount;
+                    rootEmpties[rootEmptyCount++] = cell;
+                }
+            }
+            nodes = 1;
+            firstChild[0] = -1;
+            visits[0] = 0;
+            rewards[0] = 0;
+            SplittableRandom random = new SplittableRandom(seed);
+            long iterations = 0;
+            while (iterations % CLOCK_CHECK_INTERVAL != 0
+                    || System.nanoTime() - deadline < 0 && !engine.cancellation.isCancelled(engine.generation)) {
+                iterate(rootPlayer, random);
+                iterations++;
+            }
+            return iterations;
+        }
+
+        private void iterate(byte rootPlayer, SplittableRandom random) {
+            System.arraycopy(rootCells, 0, cells, 0, cells.length);
+            System.arraycopy(rootEmpties, 0, empties, 0, rootEmptyCount);
+            System.arraycopy(rootEmptyPositions, 0, emptyPositions, 0, emptyPositions.length);
+            emptyCount = rootEmptyCount;
+            int node = 0;
+            int pathLength = 0;
+            path[pathLength++] = node;
+            byte player = rootPlayer;
+            byte winner = 0;
+            // selection
+            while (firstChild[node] >= 0 && childCount[node] > 0 && winner == 0) {
+                node = select(node);
+                winner = play(move[node], player);
+                path[pathLength++] = node;
+                player = (byte) (3 - player);
+            }
+            // expansion
+            if (winner == 0 && emptyCount > 0 && firstChild[node] < 0 && (visits[node] > 0 || node == 0)
+                    && expand(node) && childCount[node] > 0) {
+                node = firstChild[node] + random.nextInt(childCount[node]);
+                winner = play(move[node], player);
+                path[pathLength++] = node;
+                player = (byte) (3 - player);
+            }
+            // playout
+            while (winner == 0 && emptyCount > 0) {
+                winner = play(empties[random.nextInt(emptyCount)], player);
+                player = (byte) (3 - player);
+            }
+            // backpropagation: the node i of the path was entered by the move of the root player if i is odd
+            byte opponent = (byte) (3 - rootPlayer);
+            for (int i = 0; i < pathLength; i++) {
+                byte mover = (i & 1) == 1 ? rootPlayer : opponent;
+                visits[path[i]]++;
+                rewards[path[i]] += winner == 0 ? 1 : winner == mover ? 2 : 0;
+            }
+        }
+
+        private int select(int node) {
+            int first = firstChild[node];
+            int last = first + childCount[node];
+            double logVisits = Math.log(visits[node]);
+            int best = first;
+            double bestValue = Double.NEGATIVE_INFINITY;
+            for (int child = first; child < last; child++) {
+                if (visits[child] == 0) {
+                    return child;
+                }
+                double value = rewards[child] / (2.0 * visits[child])
+                        + EXPLORATION * Math.sqrt(logVisits / visits[child]);
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = child;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Adds the children of the node: the empty cells next to the tiles or all empty cells on the
+         * empty board.
+         *
+         * @return false if the tree is full
+         */
+        private boolean expand(int node) {
+            boolean emptyBoard = emptyCount == cells.length;
+            int first = nodes;
+            for (int i = 0; i < emptyCount; i++) {
+                int cell = empties[i];
+                if (emptyBoard || size <= PlayBoard.SIZE || hasNeighbour(cell)) {
+                    if (nodes == move.length) {
+                        nodes = first;
+                        return false;
+                    }
+                    move[nodes] = cell;
+                    firstChild[nodes] = -1;
+                    childCount[nodes] = 0;
+                    visits[nodes] = 0;
+                    rewards[nodes] = 0;
+                    nodes++;
+                }
+            }
+            firstChild[node] = first;
+            childCount[node] = nodes - first;
+            return true;
+        }
+
+        private boolean hasNeighbour(int cell) {
+            int row = cell / size;
+            int col = cell % size;
+            for (int i = Math.max(0, row - 1); i <= Math.min(size - 1, row + 1); i++) {
+                for (int j = Math.max(0, col - 1); j <= Math.min(size - 1, col + 1); j++) {
+                    if (cells[i * size + j] != 0) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Places the tile of the player on the empty cell.
+         *
+         * @return the player, if the move wins the game, or 0
+         */
+        private byte play(int cell, byte player) {
+            cells[cell] = player;
+            int position = emptyPositions[cell];
+            int lastCell = empties[--emptyCount];
+            empties[position] = lastCell;
+            emptyPositions[lastCell] = position;
+            return isWinningMove(cells, size, winLength, cell, player) ? player : 0;
+        }
+
+        private void addRootVisits(long[] cellVisits) {
+            if (firstChild[0] < 0) {
+                return;
+            }
+            for (int child = firstChild[0]; child < firstChild[0] + childCount[0]; child++) {
+                cellVisits[move[child]] += visits[child];
+            }
+        }
+    }
+}
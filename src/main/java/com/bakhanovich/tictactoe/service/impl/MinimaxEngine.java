@@ -0,0 +1,571 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.Engine;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.BitBoards;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import com.bakhanovich.tictactoe.utility.TranspositionTable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Implements an {@link Engine}, which computes the move by the minimax search with alpha-beta pruning.
+ * The standard 3 x 3 game is solved completely on the bitmasks of the tiles, so the engine plays
+ * perfectly. The solutions of the reachable 3 x 3 positions are precomputed in the {@link PerfectPlayTable},
+ * so the move is looked up without the search. The larger boards are searched on the board itself with
+ * make/unmake up to the configured depth, only the empty cells next to the tiles are considered.
+ * The searched positions are stored in the {@link TranspositionTable}, which can be shared by the engines.
+ * The early positions are looked up in the {@link OpeningBook}, if it is set, instead of the search.
+ * The search deepens iteratively, so it returns the best move of the deepest completed iteration, when
+ * the time budget is spent or the search is cancelled.
+ * The engine of the application is a bean, which is set to the {@link PlayBoard} of the application.
+ * It is the default engine, which is used if the property 'tictactoe.engine' is set to 'minimax' or not set.
+ */
+@Component
+@ConditionalOnProperty(name = "tictactoe.engine", havingValue = "minimax", matchIfMissing = true)
+public class MinimaxEngine implements Engine {
+    /** the default depth of the search on the boards larger than 3 x 3 */
+    public static final int DEFAULT_DEPTH = 4;
+
+    /** the score of the won game, the number of the moves to the win is subtracted */
+    static final int WIN = 1_000_000;
+    /** the scores above it are the wins and the scores below its negation are the losses, the depth is up to 255 */
+    private static final int WIN_THRESHOLD = WIN - 256;
+
+    /** the order of the cells of the 3 x 3 board: the center, the corners and the edges */
+    private static final int[] CELL_ORDER = {4, 0, 2, 6, 8, 1, 3, 5, 7};
+
+    /** the number of the nodes between the checks of the clock and the cancellation */
+    private static final int ABORT_CHECK_MASK = 0x3FF;
+    private static final SearchAbortedException ABORTED = new SearchAbortedException();
+
+    private final int depth;
+    /** the number of the entries of the {@link TranspositionTable}, which is allocated by the first search */
+    private final int tableEntries;
+    private TranspositionTable table;
+    /** the number of the moves made by the search */
+    private long nodes;
+    private final Cancellation cancellation = new Cancellation();
+    /** the generation of the running search, which is stopped by {@link #cancel()} */
+    private long generation;
+    /** the value of {@link System#nanoTime()}, at which the search stops, if there is the budget */
+    private long deadline;
+    private boolean hasDeadline;
+    /** false while the first iteration is searched, which is always completed */
+    private boolean abortable;
+    /** the additional condition of the stop, which is set by the caller of the search */
+    private BooleanSupplier stopped;
+    /** the score of the best move of the last completed iteration */
+    private int score;
+    private OpeningBook openingBook;
+
+    /**
+     * Constructs a new {@link MinimaxEngine} with the default depth. The {@link TranspositionTable}
+     * of the default size is allocated by the first search of a board larger than 3 x 3.
+     */
+    public MinimaxEngine() {
+        this(DEFAULT_DEPTH);
+    }
+
+    /**
+     * Constructs a new {@link MinimaxEngine}.
+     *
+     * @param depth
+     *         the depth of the search on the boards larger than 3 x 3, from 1 to 255
+     */
+    public MinimaxEngine(int depth) {
+        this(depth, null);
+    }
+
+    /**
+     * Constructs a new {@link MinimaxEngine}, which shares the {@link TranspositionTable}.
+     *
+     * @param depth
+     *         the depth of the search on the boards larger than 3 x 3, from 1 to 255
+     * @param table
+     *         the {@link TranspositionTable}, or null to allocate the table of the default size
+     */
+    public MinimaxEngine(int depth, TranspositionTable table) {
+        this(depth, table, TranspositionTable.DEFAULT_ENTRIES);
+    }
+
+    /**
+     * Constructs a new {@link MinimaxEngine} of the application, the depth and the size of the
+     * {@link TranspositionTable} are set by the properties 'tictactoe.engine.depth' and 'tictactoe.tt.entries'.
+     * The table is allocated by the first search of a board larger than 3 x 3.
+     *
+     * @param depth
+     *         the depth of the search on the boards larger than 3 x 3, from 1 to 255
+     * @param tableEntries
+     *         the number of the entries of the {@link TranspositionTable}, from 1 to 2^30
+     */
+    @Autowired
+    public MinimaxEngine(
+            @Value("${tictactoe.engine.depth:" + DEFAULT_DEPTH + "}") int depth,
+            @Value("${tictactoe.tt.entries:" + TranspositionTable.DEFAULT_ENTRIES + "}") int tableEntries) {
+        this(depth, null, tableEntries);
+    }
+
+    private MinimaxEngine(int depth, TranspositionTable table, int tableEntries) {
+        if (depth < 1 || depth > 255) {
+            throw new IllegalArgumentException("The depth must be from 1 to 255");
+        }
+        if (tableEntries < 1 || tableEntries > 1 << 30) {
+            throw new IllegalArgumentException("The number of the entries must be from 1 to 2^30");
+        }
+        this.depth = depth;
+        this.tableEntries = tableEntries;
+        this.table = table;
+        this.openingBook = OpeningBook.system();
+    }
+
+    /**
+     * Sets the {@link OpeningBook}, which is consulted before the search of the boards larger than 3 x 3.
+     * The book of the system property {@link OpeningBook#PROPERTY} is used by default.
+     *
+     * @param openingBook
+     *         the {@link OpeningBook}, or null to search every position
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public int bestMove(PlayBoard board, Duration budget) {
+        long start = System.nanoTime();
+        generation = cancellation.begin();
+        try {
+            return computeMove(board, budget, start);
+        } finally {
+            cancellation.end();
+        }
+    }
+
+    private int computeMove(PlayBoard board, Duration budget, long start) {
+        if (board.isGameOver()) {
+            return Coordinates.NONE;
+        }
+        if (board.getSize() == PlayBoard.SIZE && board.getWinLength() == PlayBoard.SIZE) {
+            int ownTiles = tilesOf(board, board.getCurrentPlayer());
+            int opponentTiles = tilesOf(board, other(board.getCurrentPlayer()));
+            int cell = PerfectPlayTable.bestCell(ownTiles, opponentTiles);
+            if (cell < 0) {
+                // the position is not reachable by the rules, e.g. all tiles were placed by one player
+                cell = bestCell(ownTiles, opponentTiles);
+            }
+            return Coordinates.boardCell(cell);
+        }
+        if (openingBook != null && openingBook.matches(board)) {
+            int move = openingBook.lookup(board);
+            if (move != Coordinates.NONE) {
+                return move;
+            }
+        }
+        hasDeadline = budget != null;
+        deadline = hasDeadline ? start + budget.toNanos() : 0;
+        try {
+            return deepen(board);
+        } catch (IllegalMoveException e) {
+            // the search places tiles only on the empty cells
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void cancel() {
+        cancellation.cancel();
+    }
+
+    /**
+     * Computes the best cell of the player on the 3 x 3 board.
+     *
+     * @param ownTiles
+     *         the mask of the tiles of the player, who makes the move
+     * @param opponentTiles
+     *         the mask of the tiles of the opponent
+     * @return the index of the cell in row-major order or -1 if the game is over
+     */
+    public static int bestCell(int ownTiles, int opponentTiles) {
+        if (BitBoards.hasLine(ownTiles) || BitBoards.hasLine(opponentTiles)
+                || (ownTiles | opponentTiles) == BitBoards.FULL_BOARD) {
+            return -1;
+        }
+        int bestCell = -1;
+        int alpha = Integer.MIN_VALUE;
+        for (int cell : CELL_ORDER) {
+            int bit = 1 << cell;
+            if (((ownTiles | opponentTiles) & bit) == 0) {
+                int score = scoreOfMove(ownTiles, opponentTiles, cell);
+                if (score > alpha) {
+                    alpha = score;
+                    bestCell = cell;
+                }
+            }
+        }
+        return bestCell;
+    }
+
+    /**
+     * Computes the game-theoretic value of the 3 x 3 position for the player, who makes the next move.
+     *
+     * @param ownTiles
+     *         the mask of the tiles of the player, who makes the move
+     * @param opponentTiles
+     *         the mask of the tiles of the opponent
+     * @return a positive value if the player wins, a negative one if the player loses and 0 for a tie.
+     *         The faster win has the larger value
+     */
+    public static int value(int ownTiles, int opponentTiles) {
+        if (BitBoards.hasLine(opponentTiles)) {
+            return -(WIN + Integer.bitCount(~(ownTiles | opponentTiles) & BitBoards.FULL_BOARD));
+        }
+        if (BitBoards.hasLine(ownTiles)) {
+            return WIN + Integer.bitCount(~(ownTiles | opponentTiles) & BitBoards.FULL_BOARD);
+        }
+        return negamax(ownTiles, opponentTiles, -WIN - PlayBoard.SIZE * PlayBoard.SIZE - 1,
+                WIN + PlayBoard.SIZE * PlayBoard.SIZE + 1);
+    }
+
+    private static int scoreOfMove(int ownTiles, int opponentTiles, int cell) {
+        int tiles = ownTiles | 1 << cell;
+        int row = cell / PlayBoard.SIZE;
+        int col = cell % PlayBoard.SIZE;
+        if (BitBoards.isWinningMove(tiles, row, col)) {
+            return WIN + Integer.bitCount(~(tiles | opponentTiles) & BitBoards.FULL_BOARD);
+        }
+        return -negamax(opponentTiles, tiles, -WIN - PlayBoard.SIZE * PlayBoard.SIZE - 1,
+                WIN + PlayBoard.SIZE * PlayBoard.SIZE + 1);
+    }
+
+    /**
+     * The negamax search with alpha-beta pruning on the bitmasks. The last move was made by
+     * the opponent and has not won the game.
+     */
+    private static int negamax(int ownTiles, int opponentTiles, int alpha, int beta) {
+        int occupied = ownTiles | opponentTiles;
+        if (occupied == BitBoards.FULL_BOARD) {
+            return 0;
+        }
+        for (int cell : CELL_ORDER) {
+            int bit = 1 << cell;
+            if ((occupied & bit) == 0) {
+                int tiles = ownTiles | bit;
+                int score;
+                if (BitBoards.isWinningMove(tiles, cell / PlayBoard.SIZE, cell % PlayBoard.SIZE)) {
+                    score = WIN + Integer.bitCount(~(occupied | bit) & BitBoards.FULL_BOARD);
+                } else {
+                    score = -negamax(opponentTiles, tiles, -beta, -alpha);
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    if (alpha >= beta) {
+                        break;
+                    }
+                }
+            }
+        }
+        return alpha;
+    }
+
+    /**
+     * Searches the root with the depths 1, 2, ... up to the depth of the engine, the best move of the
+     * previous iteration is searched first. The first iteration is always completed.
+     */
+    private int deepen(PlayBoard board) throws IllegalMoveException {
+        if (table == null) {
+            table = new TranspositionTable(tableEntries);
+        }
+        int bestMove = Coordinates.NONE;
+        for (int iteration = 1; iteration <= depth; iteration++) {
+            abortable = iteration > 1;
+            try {
+                bestMove = searchRoot(board, iteration, bestMove);
+            } catch (SearchAbortedException e) {
+                break;
+            }
+        }
+        return bestMove;
+    }
+
+    private int searchRoot(PlayBoard board, int depth, int firstMove) throws IllegalMoveException {
+        int size = board.getSize();
+        int bestMove = Coordinates.NONE;
+        int alpha = -WIN - depth - 1;
+        int beta = WIN + depth + 1;
+        if (firstMove != Coordinates.NONE) {
+            alpha = scoreOfMove(board, Coordinates.row(firstMove), Coordinates.col(firstMove), depth, alpha, beta);
+            bestMove = firstMove;
+        }
+        boolean empty = isEmpty(board);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                int move = Coordinates.pack(row, col);
+                if (move != firstMove && isCandidate(board, row, col, empty)) {
+                    int score = scoreOfMove(board, row, col, depth, alpha, beta);
+                    if (score > alpha || bestMove == Coordinates.NONE) {
+                        alpha = Math.max(alpha, score);
+                        bestMove = move;
+                    }
+                }
+            }
+        }
+        score = alpha;
+        return bestMove;
+    }
+
+    /**
+     * Returns the score of the best move of the last completed iteration of the search.
+     *
+     * @return the score for the player, who makes the move
+     */
+    int getScore() {
+        return score;
+    }
+
+    /**
+     * Limits the search, which is run by {@link #search(PlayBoard, int, int, int)} without
+     * {@link #bestMove(PlayBoard, Duration)}, the search throws {@link SearchAbortedException}
+     * when it is stopped. The engine, which is reused by the caller, is limited before every search.
+     *
+     * @param abortable
+     *         false if the search must be completed, then the other parameters are ignored
+     * @param hasDeadline
+     *         true if the search has the deadline
+     * @param deadline
+     *         the value of {@link System#nanoTime()}, at which the search stops
+     * @param stopped
+     *         the condition, which stops the search, e.g. the cancellation of the caller
+     */
+    void limit(boolean abortable, boolean hasDeadline, long deadline, BooleanSupplier stopped) {
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+        this.stopped = stopped;
+        this.abortable = abortable;
+    }
+
+    private void checkAbort() {
+        if (abortable && (nodes & ABORT_CHECK_MASK) == 0
+                && (cancellation.isCancelled(generation) || hasDeadline && System.nanoTime() - deadline >= 0
+                || stopped != null && stopped.getAsBoolean())) {
+            throw ABORTED;
+        }
+    }
+
+    /**
+     * Makes the move on the board, searches the position after the move and takes the move back.
+     */
+    private int scoreOfMove(PlayBoard board, int row, int col, int depth, int alpha, int beta)
+            throws IllegalMoveException {
+        checkAbort();
+        Player player = board.getCurrentPlayer();
+        board.move(row, col);
+        nodes++;
+        try {
+            if (board.getWinner() == player) {
+                return WIN + depth;
+            } else if (board.isGameOver()) {
+                return 0;
+            } else if (depth == 1) {
+                return evaluation(board, player);
+            }
+            board.setCurrentPlayer(other(player));
+            return -search(board, depth - 1, -beta, -alpha);
+        } finally {
+            // the move is taken back also if the search is aborted
+            board.unmake(row, col);
+        }
+    }
+
+    /**
+     * Searches the position of the board, the last move has not ended the game.
+     *
+     * @param board
+     *         the board, which is restored after the search
+     * @param depth
+     *         the remaining depth of the search
+     * @param alpha
+     *         the score, which the current player has already achieved
+     * @param beta
+     *         the score, which the opponent has already achieved, negated
+     * @return the score of the position for the current player
+     * @throws IllegalMoveException
+     *         never, the search places the tiles only on the empty cells
+     */
+    int search(PlayBoard board, int depth, int alpha, int beta) throws IllegalMoveException {
+        int size = board.getSize();
+        long key = board.getPositionHash();
+        int tableMove = TranspositionTable.NO_MOVE;
+        if (table != null) {
+            long entry = table.probe(key);
+            if (entry != 0) {
+                tableMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTableScore(TranspositionTable.score(entry), depth);
+                    int bound = TranspositionTable.bound(entry);
+                    if (bound == TranspositionTable.EXACT
+                            || bound == TranspositionTable.LOWER && score >= beta
+                            || bound == TranspositionTable.UPPER && score <= alpha) {
+                        return score;
+                    }
+                }
+            }
+        }
+        int originalAlpha = alpha;
+        int bestMove = TranspositionTable.NO_MOVE;
+        // the best move of the previous search of the position is tried first, the move of the entry
+        // of another board size, which is shared by the table under the same key, is out of the board
+        if (tableMove != TranspositionTable.NO_MOVE && tableMove < size * size
+                && isCandidate(board, tableMove / size, tableMove % size, false)) {
+            int score = scoreOfMove(board, tableMove / size, tableMove % size, depth, alpha, beta);
+            if (score > alpha) {
+                alpha = score;
+                bestMove = tableMove;
+            }
+        }
+        for (int row = 0; row < size && alpha < beta; row++) {
+            for (int col = 0; col < size && alpha < beta; col++) {
+                int cell = row * size + col;
+                if (cell != tableMove && isCandidate(board, row, col, false)) {
+                    int score = scoreOfMove(board, row, col, depth, alpha, beta);
+                    if (score > alpha) {
+                        alpha = score;
+                        bestMove = cell;
+                    }
+                }
+            }
+        }
+        if (table != null) {
+            int bound = alpha <= originalAlpha ? TranspositionTable.UPPER
+                    : alpha >= beta ? TranspositionTable.LOWER : TranspositionTable.EXACT;
+            table.store(key, TranspositionTable.pack(toTableScore(alpha, depth), depth, bound, bestMove));
+        }
+        return alpha;
+    }
+
+    /**
+     * Converts the score of the node to the score, which is stored in the {@link TranspositionTable}. The
+     * score of the win counts the remaining depth of the search, at which the game is won, so it depends
+     * on the depth of the node. The stored win and loss are counted from the node instead, so the entry
+     * is valid, when the position is probed at another depth, e.g. by the next iteration or the next move.
+     *
+     * @param score
+     *         the score of the node
+     * @param depth
+     *         the remaining depth of the search of the node
+     * @return the score, which does not depend on the depth of the node
+     */
+    static int toTableScore(int score, int depth) {
+        if (score > WIN_THRESHOLD) {
+            return score - depth;
+        }
+        return score < -WIN_THRESHOLD ? score + depth : score;
+    }
+
+    /**
+     * Converts the stored score back to the score of the node, see {@link #toTableScore(int, int)}.
+     *
+     * @param score
+     *         the score of the {@link TranspositionTable}
+     * @param depth
+     *         the remaining depth of the search of the node
+     * @return the score of the node
+     */
+    static int fromTableScore(int score, int depth) {
+        if (score > WIN_THRESHOLD) {
+            return score + depth;
+        }
+        return score < -WIN_THRESHOLD ? score - depth : score;
+    }
+
+    /**
+     * Checks whether the move on the cell is searched: the cell should be empty and, on the boards
+     * larger than 3 x 3, have a tile next to it. On the empty board only the center is searched.
+     */
+    static boolean isCandidate(PlayBoard board, int row, int col, boolean emptyBoard) {
+        int size = board.getSize();
+        if (board.getPlayerAt(row, col) != null) {
+            return false;
+        }
+        if (emptyBoard) {
+            return row == size / 2 && col == size / 2;
+        }
+        if (size <= PlayBoard.SIZE) {
+            return true;
+        }
+        for (int i = Math.max(0, row - 1); i <= Math.min(size - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(size - 1, col + 1); j++) {
+                if (board.getPlayerAt(i, j) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    static boolean isEmpty(PlayBoard board) {
+        for (int row = 0; row < board.getSize(); row++) {
+            for (int col = 0; col < board.getSize(); col++) {
+                if (board.getPlayerAt(row, col) != null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of the moves made by the searches of the engine.
+     *
+     * @return the number of the searched nodes
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    private static int tilesOf(PlayBoard board, Player player) {
+        int tiles = 0;
+        for (int row = 0; row < PlayBoard.SIZE; row++) {
+            for (int col = 0; col < PlayBoard.SIZE; col++) {
+                if (board.getPlayerAt(row, col) == player) {
+                    tiles |= BitBoards.bit(row, col);
+                }
+            }
+        }
+        return tiles;
+    }
+
+    /**
+     * Is thrown by the search, when the deadline has passed or the search is cancelled. The search
+     * takes back its moves, while the exception goes up to the root.
+     */
+    static final class SearchAbortedException extends RuntimeException {
+        private SearchAbortedException() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Gets the static evaluation of the position from the view of the player.
+     */
+    static int evaluation(PlayBoard board, Player player) {
+        int score = board.getEvaluation();
+        return player == Player.PLAYER1 ? score : -score;
+    }
+
+    static Player other(Player player) {
+        return player == Player.PLAYER1 ? Player.PLAYER2 : Player.PLAYER1;
+    }
+}
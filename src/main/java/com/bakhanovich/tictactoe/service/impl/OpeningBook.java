@@ -0,0 +1,377 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import com.bakhanovich.tictactoe.utility.Symmetry;
+import com.bakhanovich.tictactoe.utility.TranspositionTable;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The opening book of the k-in-a-row boards: the best moves of the early positions, which are looked up
+ * instead of the search. The book is a file, which is mapped into the memory by {@link FileChannel#map},
+ * so it is not read into the heap, the opening is instant for any size of the book and the processes,
+ * which use the same book, share the pages of the file. One mapping is limited to 2 GiB, so the entries
+ * are mapped in the segments of {@link #SEGMENT_ENTRIES} entries, the book has up to
+ * {@link Integer#MAX_VALUE} entries (40 GiB).
+ * The positions are keyed by the canonical Zobrist hash, see {@link Symmetry#canonicalTransform(PlayBoard)},
+ * so the symmetric positions share one entry, the move is stored in the canonical frame and is mapped back
+ * by the inverse transform. The entries are sorted by the key as an unsigned number and are found by the
+ * binary search.
+ * The file starts with the header of {@link #HEADER_BYTES} bytes: the magic number, the version, the size
+ * and the win length of the board and the number of the entries. Every entry has {@link #ENTRY_BYTES} bytes:
+ * the key, the packed move, the score and the depth of the search, which has found the move.
+ * The book is generated by {@link #main(String[])}.
+ */
+public final class OpeningBook {
+    /** the system property, which contains the path of the book used by the engines */
+    public static final String PROPERTY = "tictactoe.book";
+    static final int HEADER_BYTES = 24;
+    static final int ENTRY_BYTES = 20;
+    private static final int MAGIC = 0x54544F42; // "TTOB"
+    private static final int VERSION = 1;
+    private static final int MOVE_OFFSET = 8;
+    private static final int SCORE_OFFSET = 12;
+    private static final int DEPTH_OFFSET = 16;
+    /** the number of the entries of one mapped segment, the segment of 1.25 GiB stays below the limit of 2 GiB */
+    static final int SEGMENT_ENTRIES = 1 << 26;
+
+    /** the book is read by the absolute methods only, so the buffers are shared by the threads */
+    private final MappedByteBuffer[] segments;
+    private final int segmentEntries;
+    private final int size;
+    private final int winLength;
+    private final int entries;
+
+    private OpeningBook(FileChannel channel, int segmentEntries) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        while (header.hasRemaining()) {
+            if (channel.read(header, header.position()) < 0) {
+                throw new IOException("The file is not an opening book");
+            }
+        }
+        if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("The file is not an opening book");
+        }
+        this.size = header.getInt(8);
+        this.winLength = header.getInt(12);
+        this.entries = header.getInt(16);
+        if (entries < 0 || HEADER_BYTES + (long) entries * ENTRY_BYTES != channel.size()) {
+            throw new IOException("The opening book is truncated");
+        }
+        this.segmentEntries = segmentEntries;
+        this.segments = new MappedByteBuffer[(int) ((entries + (long) segmentEntries - 1) / segmentEntries)];
+        for (int segment = 0; segment < segments.length; segment++) {
+            long first = (long) segment * segmentEntries;
+            long count = Math.min(segmentEntries, entries - first);
+            segments[segment] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES + first * ENTRY_BYTES,
+                    count * ENTRY_BYTES);
+        }
+    }
+
+    /**
+     * Maps the book into the memory. The file is closed, the mapping stays valid.
+     *
+     * @param path
+     *         the path of the book
+     * @return the book
+     * @throws IOException
+     *         if the file cannot be read or is not an opening book
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        return open(path, SEGMENT_ENTRIES);
+    }
+
+    /**
+     * Maps the book into the memory in the segments of the number of the entries.
+     *
+     * @param path
+     *         the path of the book
+     * @param segmentEntries
+     *         the number of the entries of one segment, from 1 to {@link #SEGMENT_ENTRIES}
+     * @return the book
+     * @throws IOException
+     *         if the file cannot be read or is not an opening book
+     */
+    static OpeningBook open(Path path, int segmentEntries) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new OpeningBook(channel, segmentEntries);
+        }
+    }
+
+    /**
+     * Gets the book, the path of which is set by the system property {@link #PROPERTY}. The book is
+     * mapped once and is shared by all engines.
+     *
+     * @return the book or null if the property is not set or the book cannot be opened
+     */
+    public static OpeningBook system() {
+        return SystemBook.BOOK;
+    }
+
+    /**
+     * Checks whether the book is made for the board: the size and the win length are equal.
+     *
+     * @param board
+     *         the board
+     * @return true if the moves of the book can be played on the board
+     */
+    public boolean matches(PlayBoard board) {
+        return board.getSize() == size && board.getWinLength() == winLength;
+    }
+
+    /**
+     * Looks the best move of the current player up.
+     *
+     * @param board
+     *         the board, which {@link #matches(PlayBoard) matches} the book
+     * @return the slot of the move packed by {@link Coordinates#pack(int, int)} or
+     *         {@link Coordinates#NONE} if the position is not in the book
+     */
+    public int lookup(PlayBoard board) {
+        int transform = Symmetry.canonicalTransform(board);
+        int entry = find(Symmetry.hash(board, transform));
+        if (entry < 0) {
+            return Coordinates.NONE;
+        }
+        int move = Symmetry.transform(Symmetry.inverse(transform), moveAt(entry), size);
+        return board.getPlayerAt(Coordinates.row(move), Coordinates.col(move)) == null ? move : Coordinates.NONE;
+    }
+
+    /**
+     * Finds the entry of the position by the binary search.
+     *
+     * @param key
+     *         the canonical Zobrist hash of the position
+     * @return the index of the entry or -1 if the position is not in the book
+     */
+    public int find(long key) {
+        int low = 0;
+        int high = entries - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int comparison = Long.compareUnsigned(keyAt(middle), key);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the number of the positions in the book.
+     *
+     * @return the number of the entries
+     */
+    public int getEntries() {
+        return entries;
+    }
+
+    long keyAt(int entry) {
+        return segmentOf(entry).getLong(offsetOf(entry));
+    }
+
+    /**
+     * Gets the move of the entry in the canonical frame.
+     *
+     * @param entry
+     *         the index of the entry
+     * @return the packed move
+     */
+    public int moveAt(int entry) {
+        return segmentOf(entry).getInt(offsetOf(entry) + MOVE_OFFSET);
+    }
+
+    /**
+     * Gets the score of the move of the entry for the player, who makes the move.
+     *
+     * @param entry
+     *         the index of the entry
+     * @return the score of the search
+     */
+    public int scoreAt(int entry) {
+        return segmentOf(entry).getInt(offsetOf(entry) + SCORE_OFFSET);
+    }
+
+    /**
+     * Gets the depth of the search, which has found the move of the entry.
+     *
+     * @param entry
+     *         the index of the entry
+     * @return the depth
+     */
+    public int depthAt(int entry) {
+        return segmentOf(entry).getInt(offsetOf(entry) + DEPTH_OFFSET);
+    }
+
+    private MappedByteBuffer segmentOf(int entry) {
+        return segments[entry / segmentEntries];
+    }
+
+    /**
+     * Gets the offset of the entry in its segment, which is less than 2 GiB.
+     */
+    private int offsetOf(int entry) {
+        return entry % segmentEntries * ENTRY_BYTES;
+    }
+
+    /**
+     * Collects the entries of the book and writes the sorted book to the file.
+     */
+    public static final class Writer {
+        private final int size;
+        private final int winLength;
+        private final Map<Long, int[]> entries = new HashMap<>();
+
+        /**
+         * Constructs the empty book of the board.
+         *
+         * @param size
+         *         the number of rows and columns of the board
+         * @param winLength
+         *         the number of tiles in a row, which are needed to win
+         */
+        public Writer(int size, int winLength) {
+            this.size = size;
+            this.winLength = winLength;
+        }
+
+        /**
+         * Adds the best move of the current player of the position, the position is canonicalized.
+         *
+         * @param board
+         *         the board, the size and the win length of which are equal to the book
+         * @param move
+         *         the packed move on the board
+         * @param score
+         *         the score of the move
+         * @param depth
+         *         the depth of the search, which has found the move
+         * @return true if the position has not been added yet
+         */
+        public boolean add(PlayBoard board, int move, int score, int depth) {
+            if (board.getSize() != size || board.getWinLength() != winLength) {
+                throw new IllegalArgumentException("The board does not match the opening book");
+            }
+            int transform = Symmetry.canonicalTransform(board);
+            int[] entry = {Symmetry.transform(transform, move, size), score, depth};
+            return entries.putIfAbsent(Symmetry.hash(board, transform), entry) == null;
+        }
+
+        /**
+         * Writes the book, the entries are sorted by the key.
+         *
+         * @param path
+         *         the path of the file
+         * @throws IOException
+         *         if the file cannot be written
+         */
+        public void write(Path path) throws IOException {
+            List<Long> keys = new ArrayList<>(entries.keySet());
+            keys.sort(Long::compareUnsigned);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(size);
+                out.writeInt(winLength);
+                out.writeInt(keys.size());
+                out.writeInt(0);
+                for (long key : keys) {
+                    int[] entry = entries.get(key);
+                    out.writeLong(key);
+                    out.writeInt(entry[0]);
+                    out.writeInt(entry[1]);
+                    out.writeInt(entry[2]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generates the book of the positions up to the number of the moves: every position is searched by the
+     * {@link MinimaxEngine}, the positions after every move next to the tiles are visited.
+     *
+     * @param args
+     *         the path of the book, the size of the board (15), the win length (5), the number of the
+     *         moves (4) and the depth of the search (4)
+     * @throws IOException
+     *         if the book cannot be written
+     * @throws IllegalMoveException
+     *         never, the moves are made on the empty cells
+     */
+    public static void main(String[] args) throws IOException, IllegalMoveException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "opening-book.bin");
+        int size = args.length > 1 ? Integer.parseInt(args[1]) : 15;
+        int winLength = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int plies = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        int depth = args.length > 4 ? Integer.parseInt(args[4]) : MinimaxEngine.DEFAULT_DEPTH;
+        Writer writer = new Writer(size, winLength);
+        MinimaxEngine engine = new MinimaxEngine(depth, new TranspositionTable());
+        engine.setOpeningBook(null);
+        visit(new KInARowPlayBoardImpl(size, winLength), plies, depth, engine, writer);
+        writer.write(path);
+        System.out.printf("%d positions written to %s%n", writer.entries.size(), path);
+    }
+
+    private static void visit(KInARowPlayBoardImpl board, int plies, int depth, MinimaxEngine engine, Writer writer)
+            throws IllegalMoveException {
+        if (plies == 0 || board.isGameOver()) {
+            return;
+        }
+        int move = engine.bestMove(board);
+        if (!writer.add(board, move, engine.getScore(), depth)) {
+            return;
+        }
+        Player player = board.getCurrentPlayer();
+        boolean empty = MinimaxEngine.isEmpty(board);
+        for (int row = 0; row < board.getSize(); row++) {
+            for (int col = 0; col < board.getSize(); col++) {
+                if (MinimaxEngine.isCandidate(board, row, col, empty)) {
+                    board.move(row, col);
+                    board.setCurrentPlayer(MinimaxEngine.other(player));
+                    visit(board, plies - 1, depth, engine, writer);
+                    board.unmake(row, col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Holds the book of the system property, which is mapped by the first call of {@link #system()}.
+     */
+    private static final class SystemBook {
+        private static final OpeningBook BOOK = openSystemBook();
+
+        private static OpeningBook openSystemBook() {
+            String path = System.getProperty(PROPERTY);
+            if (path == null || path.isEmpty()) {
+                return null;
+            }
+            try {
+                return open(Paths.get(path));
+            } catch (IOException e) {
+                System.err.println("The opening book " + path + " cannot be opened: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,459 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.Engine;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import com.bakhanovich.tictactoe.utility.TranspositionTable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Implements an {@link Engine}, which searches the boards larger than 3 x 3 by the alpha-beta search
+ * in the {@link ForkJoinPool} with the Young Brothers Wait scheme: the first move of the node is
+ * searched alone to get the bound, then the other moves (the younger brothers) are searched in parallel
+ * with this bound. Every thread of the pool keeps its own copy of the root board and its own
+ * {@link MinimaxEngine}, a task carries only the moves from the root to its node and replays them on the
+ * board of the thread by make/unmake. All tasks share the {@link TranspositionTable}. The nodes, which are
+ * less than {@link #SPLIT_DEPTH} deep, are searched sequentially by the {@link MinimaxEngine} of the thread.
+ * The 3 x 3 game is answered by the {@link MinimaxEngine}.
+ * The early positions are looked up in the {@link OpeningBook}, if it is set, instead of the search.
+ * The search deepens iteratively and returns the best move of the deepest completed iteration, when
+ * the time budget is spent or the search is cancelled.
+ */
+public class ParallelSearchEngine implements Engine {
+    /** the smallest remaining depth of the node, the moves of which are searched in parallel */
+    public static final int SPLIT_DEPTH = 3;
+
+    private final int depth;
+    private final ForkJoinPool pool;
+    private final TranspositionTable table;
+    private final LongAdder nodes = new LongAdder();
+    private volatile long elapsedNanos;
+    private final Cancellation cancellation = new Cancellation();
+    /** the generation of the running search, which is stopped by {@link #cancel()} */
+    private volatile long generation;
+    /** is set by the tasks, which have stopped the search, the result of the iteration is discarded */
+    private volatile boolean aborted;
+    /** the value of {@link System#nanoTime()}, at which the search stops, if there is the budget */
+    private volatile long deadline;
+    private volatile boolean hasDeadline;
+    /** false while the first iteration is searched, which is always completed */
+    private volatile boolean abortable;
+    private final BooleanSupplier stopped = this::isStopped;
+    /** the copy of the searched board, from which the threads copy their boards */
+    private volatile KInARowPlayBoardImpl root;
+    /** the number of the searches, the boards of the threads are copied again by every search */
+    private volatile long searchId;
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+    private OpeningBook openingBook;
+
+    /**
+     * Constructs a new {@link ParallelSearchEngine}, which runs in the common {@link ForkJoinPool}.
+     *
+     * @param depth
+     *         the depth of the search, from 1 to 255
+     */
+    public ParallelSearchEngine(int depth) {
+        this(depth, ForkJoinPool.commonPool(), new TranspositionTable());
+    }
+
+    /**
+     * Constructs a new {@link ParallelSearchEngine}.
+     *
+     * @param depth
+     *         the depth of the search, from 1 to 255
+     * @param pool
+     *         the {@link ForkJoinPool}, in which the search runs
+     * @param table
+     *         the {@link TranspositionTable} shared by the tasks of the search
+     */
+    public ParallelSearchEngine(int depth, ForkJoinPool pool, TranspositionTable table) {
+        if (depth < 1 || depth > 255) {
+            throw new IllegalArgumentException("The depth must be from 1 to 255");
+        }
+        this.depth = depth;
+        this.pool = pool;
+        this.table = table;
+        this.openingBook = OpeningBook.system();
+    }
+
+    /**
+     * Sets the {@link OpeningBook}, which is consulted before the search.
+     * The book of the system property {@link OpeningBook#PROPERTY} is used by default.
+     *
+     * @param openingBook
+     *         the {@link OpeningBook}, or null to search every position
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public synchronized int bestMove(PlayBoard board, Duration budget) {
+        long start = System.nanoTime();
+        generation = cancellation.begin();
+        try {
+            return computeMove(board, budget, start);
+        } finally {
+            elapsedNanos = System.nanoTime() - start;
+            cancellation.end();
+        }
+    }
+
+    private int computeMove(PlayBoard board, Duration budget, long start) {
+        if (board.isGameOver() || board.getSize() <= PlayBoard.SIZE) {
+            MinimaxEngine engine = new MinimaxEngine(depth, table);
+            engine.setOpeningBook(openingBook);
+            return engine.bestMove(board, budget);
+        }
+        if (openingBook != null && openingBook.matches(board)) {
+            int move = openingBook.lookup(board);
+            if (move != Coordinates.NONE) {
+                return move;
+            }
+        }
+        hasDeadline = budget != null;
+        deadline = hasDeadline ? start + budget.toNanos() : 0;
+        nodes.reset();
+        root = KInARowPlayBoardImpl.copyOf(board);
+        searchId++;
+        int bestMove = Coordinates.NONE;
+        for (int iteration = 1; iteration <= depth; iteration++) {
+            abortable = iteration > 1;
+            aborted = false;
+            int move = pool.invoke(new RootTask(iteration, bestMove));
+            if (aborted) {
+                break;
+            }
+            bestMove = move;
+        }
+        return bestMove;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void cancel() {
+        cancellation.cancel();
+    }
+
+    /**
+     * Returns the number of the moves made by the last search.
+     *
+     * @return the number of the searched nodes
+     */
+    public long getNodes() {
+        return nodes.sum();
+    }
+
+    /**
+     * Returns the duration of the last search.
+     *
+     * @return the duration in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns the speed of the last search.
+     *
+     * @return the number of the searched nodes per second
+     */
+    public double getNodesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getNodes() * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Reports the speed and the scaling efficiency of the search by the number of the threads:
+     * the same position is searched in the pools of 1, 2, 4, ... threads up to the number of the cores.
+     * The efficiency of n threads is {@code time(1) / (n * time(n))}.
+     *
+     * @param args
+     *         the size of the board (15 by default), the win length (5) and the depth of the search (4)
+     * @throws IllegalMoveException
+     *         never, the position is made of the different cells
+     */
+    public static void main(String[] args) throws IllegalMoveException {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 15;
+        int winLength = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int depth = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        KInARowPlayBoardImpl board = new KInARowPlayBoardImpl(size, winLength);
+        int center = size / 2;
+        int[][] opening = {{0, 0}, {0, 1}, {1, 1}, {-1, 0}, {1, -1}, {-1, -1}};
+        for (int[] move : opening) {
+            board.move(center + move[0], center + move[1]);
+            board.setCurrentPlayer(MinimaxEngine.other(board.getCurrentPlayer()));
+        }
+        // the warm-up search lets the JIT compile the search before the measurements
+        new ParallelSearchEngine(depth, ForkJoinPool.commonPool(), new TranspositionTable()).bestMove(board);
+        double singleThreadNanos = 0;
+        System.out.printf("%8s %12s %14s %10s%n", "threads", "time, ms", "nodes/sec", "efficiency");
+        for (int threads = 1; threads <= Runtime.getRuntime().availableProcessors(); threads *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ParallelSearchEngine engine = new ParallelSearchEngine(depth, pool, new TranspositionTable());
+                engine.bestMove(board);
+                if (threads == 1) {
+                    singleThreadNanos = engine.getElapsedNanos();
+                }
+                System.out.printf("%8d %12.1f %14.0f %10.2f%n", threads, engine.getElapsedNanos() / 1e6,
+                        engine.getNodesPerSecond(), singleThreadNanos / (threads * engine.getElapsedNanos()));
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Searches the position of the board of the thread, the last move has not ended the game.
+     */
+    private int search(Worker worker, int depth, int alpha, int beta) throws IllegalMoveException {
+        KInARowPlayBoardImpl board = worker.board;
+        if (depth < SPLIT_DEPTH) {
+            MinimaxEngine engine = worker.engine;
+            long searched = engine.getNodes();
+            engine.limit(abortable, hasDeadline, deadline, stopped);
+            try {
+                return engine.search(board, depth, alpha, beta);
+            } catch (MinimaxEngine.SearchAbortedException e) {
+                aborted = true;
+                return alpha;
+            } finally {
+                nodes.add(engine.getNodes() - searched);
+            }
+        }
+        int[] moves = candidates(board, false);
+        if (moves.length == 0) {
+            return alpha;
+        }
+        // the eldest brother is searched first, the younger ones wait for its bound
+        alpha = Math.max(alpha, scoreOfMove(worker, moves[0], depth, alpha, beta));
+        if (alpha >= beta || moves.length == 1 || aborted) {
+            return alpha;
+        }
+        int[] path = worker.path();
+        List<MoveTask> tasks = new ArrayList<>(moves.length - 1);
+        for (int i = 1; i < moves.length; i++) {
+            tasks.add(new MoveTask(path, moves[i], depth, alpha, beta));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        // the tasks, which have been run by this thread while it waited, have moved its board
+        worker.reach(path);
+        for (MoveTask task : tasks) {
+            alpha = Math.max(alpha, task.join());
+        }
+        return Math.min(alpha, beta);
+    }
+
+    /**
+     * Makes the move on the board, searches the position after the move and takes the move back.
+     */
+    private int scoreOfMove(Worker worker, int move, int depth, int alpha, int beta) throws IllegalMoveException {
+        if (isStopped()) {
+            return alpha;
+        }
+        KInARowPlayBoardImpl board = worker.board;
+        Player player = board.getCurrentPlayer();
+        board.move(move);
+        nodes.increment();
+        int score;
+        if (board.getWinner() == player) {
+            score = MinimaxEngine.WIN + depth;
+        } else if (board.isGameOver()) {
+            score = 0;
+        } else if (depth == 1) {
+            score = MinimaxEngine.evaluation(board, player);
+        } else {
+            board.setCurrentPlayer(MinimaxEngine.other(player));
+            score = -search(worker, depth - 1, -beta, -alpha);
+        }
+        board.unmake(Coordinates.row(move), Coordinates.col(move));
+        return score;
+    }
+
+    /**
+     * Checks whether the iteration should stop: the deadline has passed or the search is cancelled.
+     * The iteration is then marked as aborted and its result is discarded.
+     */
+    private boolean isStopped() {
+        if (aborted) {
+            return true;
+        }
+        if (abortable && (cancellation.isCancelled(generation) || hasDeadline && System.nanoTime() - deadline >= 0)) {
+            aborted = true;
+        }
+        return aborted;
+    }
+
+    private static int[] candidates(PlayBoard board, boolean emptyBoard) {
+        int size = board.getSize();
+        int[] moves = new int[size * size];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (MinimaxEngine.isCandidate(board, row, col, emptyBoard)) {
+                    moves[count++] = Coordinates.pack(row, col);
+                }
+            }
+        }
+        int[] result = new int[count];
+        System.arraycopy(moves, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * The search of the root: the eldest move is searched first, the other moves are searched in parallel.
+     */
+    private final class RootTask extends RecursiveTask<Integer> {
+        private final int depth;
+        private final int firstMove;
+
+        private RootTask(int depth, int firstMove) {
+            this.depth = depth;
+            this.firstMove = firstMove;
+        }
+
+        @Override
+        protected Integer compute() {
+            Worker worker = workers.get();
+            try {
+                worker.reach(Worker.ROOT);
+                int[] moves = candidates(worker.board, MinimaxEngine.isEmpty(worker.board));
+                if (moves.length == 0) {
+                    return Coordinates.NONE;
+                }
+                // the best move of the previous iteration is searched first
+                for (int i = 1; i < moves.length; i++) {
+                    if (moves[i] == firstMove) {
+                        moves[i] = moves[0];
+                        moves[0] = firstMove;
+                        break;
+                    }
+                }
+                int alpha = -MinimaxEngine.WIN - depth - 1;
+                int beta = MinimaxEngine.WIN + depth + 1;
+                int bestMove = moves[0];
+                alpha = scoreOfMove(worker, moves[0], depth, alpha, beta);
+                List<MoveTask> tasks = new ArrayList<>(moves.length - 1);
+                for (int i = 1; i < moves.length; i++) {
+                    tasks.add(new MoveTask(Worker.ROOT, moves[i], depth, alpha, beta));
+                }
+                ForkJoinTask.invokeAll(tasks);
+                // the moves are compared in the order of the search, as by the sequential search
+                for (MoveTask task : tasks) {
+                    int score = task.join();
+                    if (score > alpha) {
+                        alpha = score;
+                        bestMove = task.move;
+                    }
+                }
+                return bestMove;
+            } catch (IllegalMoveException e) {
+                // the tasks place the tiles only on the empty cells
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * The search of one move of the node, the node is reached on the board of the thread by the moves
+     * from the root.
+     */
+    private final class MoveTask extends RecursiveTask<Integer> {
+        private final int[] path;
+        private final int move;
+        private final int depth;
+        private final int alpha;
+        private final int beta;
+
+        private MoveTask(int[] path, int move, int depth, int alpha, int beta) {
+            this.path = path;
+            this.move = move;
+            this.depth = depth;
+            this.alpha = alpha;
+            this.beta = beta;
+        }
+
+        @Override
+        protected Integer compute() {
+            Worker worker = workers.get();
+            try {
+                worker.reach(path);
+                return scoreOfMove(worker, move, depth, alpha, beta);
+            } catch (IllegalMoveException e) {
+                // the tasks place the tiles only on the empty cells
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    /**
+     * The state of the search of one thread of the pool: the copy of the root board, on which the tasks
+     * replay their moves, and the {@link MinimaxEngine} of the nodes below {@link #SPLIT_DEPTH}.
+     * The board is copied once by every search, the engine is allocated once.
+     */
+    private final class Worker {
+        /** the path of the root */
+        private static final int[] ROOT = new int[0];
+
+        private final MinimaxEngine engine = new MinimaxEngine(depth, table);
+        private KInARowPlayBoardImpl board;
+        /** the number of the moves of the root, the moves after them are the path of the node */
+        private int rootMoves;
+        private long search = -1;
+
+        /**
+         * Moves the board to the node of the path: the moves, which are not on the path, are taken back
+         * and the missing moves of the path are made.
+         */
+        private void reach(int[] path) throws IllegalMoveException {
+            if (search != searchId) {
+                board = KInARowPlayBoardImpl.copyOf(root);
+                rootMoves = board.getHistorySize();
+                search = searchId;
+            }
+            int common = 0;
+            int made = board.getHistorySize() - rootMoves;
+            while (common < path.length && common < made && path[common] == moveAt(rootMoves + common)) {
+                common++;
+            }
+            for (int i = board.getHistorySize() - 1; i >= rootMoves + common; i--) {
+                board.unmake(board.getHistoryRow(i), board.getHistoryCol(i));
+            }
+            for (int i = common; i < path.length; i++) {
+                Player player = board.getCurrentPlayer();
+                board.move(path[i]);
+                board.setCurrentPlayer(MinimaxEngine.other(player));
+            }
+        }
+
+        /**
+         * Returns the moves from the root to the node of the board.
+         */
+        private int[] path() {
+            int[] path = new int[board.getHistorySize() - rootMoves];
+            for (int i = 0; i < path.length; i++) {
+                path[i] = moveAt(rootMoves + i);
+            }
+            return path;
+        }
+
+        private int moveAt(int index) {
+            return Coordinates.pack(board.getHistoryRow(index), board.getHistoryCol(index));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The precomputed game-theoretic value and the best move of every position of the standard 3 x 3 game,
+ * which is reachable from the empty board. The position is seen by the player, who makes the next move:
+ * the cells of the player are the base-3 digits 1, the cells of the opponent are the digits 2, so the
+ * table has 3^9 entries and the lookup is one array access.
+ * The table is generated by {@link #main(String[])} with the {@link MinimaxEngine} and is loaded from
+ * the resource {@link #RESOURCE} at the start. If the resource is missing, the table is generated in memory.
+ * Every entry is one byte: the bit 7 is set for the reachable positions, the bits 4-5 hold the
+ * value ({@link #DRAW}, {@link #WIN} or {@link #LOSS}) and the bits 0-3 hold the best cell plus 1.
+ */
+public final class PerfectPlayTable {
+    /** the name of the resource, which contains the table */
+    public static final String RESOURCE = "/perfect-play-3x3.bin";
+    /** the value of the position, which is a tie under the perfect play */
+    public static final int DRAW = 0;
+    /** the value of the position, which is won by the player, who makes the next move */
+    public static final int WIN = 1;
+    /** the value of the position, which is lost by the player, who makes the next move */
+    public static final int LOSS = -1;
+
+    private static final int CELLS = PlayBoard.SIZE * PlayBoard.SIZE;
+    private static final int ENTRIES = 19683; // 3^9
+    private static final int REACHABLE = 0x80;
+    private static final int VALUE_SHIFT = 4;
+    private static final int CELL_MASK = 0x0F;
+    private static final int[] VALUES = {DRAW, WIN, LOSS};
+
+    /** the base-3 number, which has the digits 1 on the set bits of the mask of the tiles */
+    private static final int[] BASE3 = new int[1 << CELLS];
+    private static final byte[] TABLE;
+
+    static {
+        for (int mask = 1; mask < BASE3.length; mask++) {
+            int lowestCell = Integer.numberOfTrailingZeros(mask);
+            int power = 1;
+            for (int i = 0; i < lowestCell; i++) {
+                power *= 3;
+            }
+            BASE3[mask] = BASE3[mask & (mask - 1)] + power;
+        }
+        TABLE = load();
+    }
+
+    private PerfectPlayTable() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Computes the index of the position in the table.
+     *
+     * @param ownTiles
+     *         the mask of the tiles of the player, who makes the move
+     * @param opponentTiles
+     *         the mask of the tiles of the opponent
+     * @return the index from 0 to 3^9 - 1
+     */
+    public static int index(int ownTiles, int opponentTiles) {
+        return BASE3[ownTiles] + 2 * BASE3[opponentTiles];
+    }
+
+    /**
+     * Checks whether the position is reachable from the empty board by the rules of the game.
+     *
+     * @param ownTiles
+     *         the mask of the tiles of the player, who makes the move
+     * @param opponentTiles
+     *         the mask of the tiles of the opponent
+     * @return true if the position is reachable
+     */
+    public static boolean isReachable(int ownTiles, int opponentTiles) {
+        return (TABLE[index(ownTiles, opponentTiles)] & REACHABLE) != 0;
+    }
+
+    /**
+     * Gets the best cell of the player, who makes the move. The fastest win and the slowest loss are preferred.
+     *
+     * @param ownTiles
+     *         the mask of the tiles of the player, who makes the move
+     * @param opponentTiles
+     *         the mask of the tiles of the opponent
+     * @return the index of the cell in row-major order or -1 if the game is over or the position is not reachable
+     */
+    public static int bestCell(int ownTiles, int opponentTiles) {
+        return (TABLE[index(ownTiles, opponentTiles)] & CELL_MASK) - 1;
+    }
+
+    /**
+     * Gets the game-theoretic value of the position for the player, who makes the move.
+     *
+     * @param ownTiles
+     *         the mask of the tiles of the player, who makes the move
+     * @param opponentTiles
+     *         the mask of the tiles of the opponent
+     * @return {@link #WIN}, {@link #DRAW} or {@link #LOSS}
+     */
+    public static int value(int ownTiles, int opponentTiles) {
+        return VALUES[(TABLE[index(ownTiles, opponentTiles)] >> VALUE_SHIFT) & 0x03];
+    }
+
+    /**
+     * Generates the table: the positions are visited from the empty board, the value and the
+     * best move of every position are computed by the {@link MinimaxEngine}.
+     *
+     * @return the table
+     */
+    static byte[] generate() {
+        byte[] table = new byte[ENTRIES];
+        visit(table, 0, 0);
+        return table;
+    }
+
+    private static void visit(byte[] table, int ownTiles, int opponentTiles) {
+        int index = index(ownTiles, opponentTiles);
+        if (table[index] != 0) {
+            return;
+        }
+        int value = MinimaxEngine.value(ownTiles, opponentTiles);
+        int valueCode = value > 0 ? 1 : value < 0 ? 2 : 0;
+        int bestCell = MinimaxEngine.bestCell(ownTiles, opponentTiles);
+        table[index] = (byte) (REACHABLE | valueCode << VALUE_SHIFT | (bestCell + 1));
+        if (bestCell < 0) {
+            return;
+        }
+        for (int cell = 0; cell < CELLS; cell++) {
+            int bit = 1 << cell;
+            if (((ownTiles | opponentTiles) & bit) == 0) {
+                visit(table, opponentTiles, ownTiles | bit);
+            }
+        }
+    }
+
+    private static byte[] load() {
+        try (InputStream stream = PerfectPlayTable.class.getResourceAsStream(RESOURCE)) {
+            if (stream != null) {
+                byte[] table = new byte[ENTRIES];
+                new DataInputStream(stream).readFully(table);
+                return table;
+            }
+        } catch (IOException e) {
+            // the table is generated below
+        }
+        return generate();
+    }
+
+    /**
+     * Generates the table and writes it to the file, is run by the Maven profile 'perfect-play-table'.
+     *
+     * @param args
+     *         the path of the file, 'src/main/resources/perfect-play-3x3.bin' by default
+     * @throws IOException
+     *         if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        Path path = Paths.get(args.length > 0 ? args[0] : "src/main/resources" + RESOURCE);
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Files.write(path, generate());
+    }
+}
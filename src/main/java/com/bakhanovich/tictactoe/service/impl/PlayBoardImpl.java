@@ -1,63 +1,57 @@
 package com.bakhanovich.tictactoe.service.impl;
 
 import com.bakhanovich.tictactoe.utility.Constants;
+import com.bakhanovich.tictactoe.utility.Zobrist;
 import com.bakhanovich.tictactoe.exception.IllegalMoveException;
 import com.bakhanovich.tictactoe.model.Player;
 import com.bakhanovich.tictactoe.model.Sign;
-import com.bakhanovich.tictactoe.model.Stats;
 import com.bakhanovich.tictactoe.model.Tile;
 import com.bakhanovich.tictactoe.service.PlayBoard;
+import lombok.AccessLevel;
 import lombok.Getter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
-import java.util.Objects;
 
 /**
  * Implements a {@link PlayBoard} of the Game. A Board contains
  * the current {@link Player} of the game, Board of {@link Tile}s,
  * array of {@link Tile} on the board,
  * the parameter {@link Player} firstPlayer, that shows the player,
- * that made the first move of the game
+ * that made the first move of the game.
+ * The board counts the tiles of both players on every line, so the tie is known as soon as
+ * no line can be completed anymore.
+ * It is the default implementation, which is used if the property 'tictactoe.board'
+ * is not set or is set to 'tile'.
  */
 @Component
+@ConditionalOnProperty(name = "tictactoe.board", havingValue = "tile", matchIfMissing = true)
 @Getter
-public class PlayBoardImpl implements PlayBoard {
+public class PlayBoardImpl extends AbstractPlayBoard {
     private final static String INVALID_PARAMETERS = "The value of the row or"
             + "the value of the column of your move are invalid." + "\n"
             + " Values of the row and the value of the column"
             + " must be from 1 to 3";
     //    private final static int SIZE = 3;
-    private Player currentPlayer;
+    private static final long[] ZOBRIST_KEYS = Zobrist.keys(SIZE);
+    /** the number of the rows, columns and diagonals */
+    private static final int LINES = 2 * SIZE + 2;
     private Tile[][] currentBoard;
-    private Player firstPlayer;
-    private Player winner;
-    private Stats stats;
+    private int filledCells;
+    /** the number of the tiles of every player on every line, by the ordinal of the player and the line */
+    @Getter(AccessLevel.NONE)
+    private final int[][] lineTiles;
+    /** the number of the lines, which have no tiles of one of the players and still can be completed */
+    private int liveLines;
 
     /**
      * Constructs a new start {@link PlayBoardImpl}.
      */
     public PlayBoardImpl() {
-        this.currentPlayer = Player.PLAYER1;
         this.currentBoard = new Tile[SIZE][SIZE];
-        this.firstPlayer = Player.PLAYER1;
-        this.stats = Stats.builder().firstPlayerWins(0).secondPlayerWins(0).build();
-    }
-
-    /**
-     *{@inheritDoc}
-     */
-    @Override
-    public Player getFirstPlayer() {
-        return firstPlayer;
-    }
-
-    /**
-     *{@inheritDoc}
-     */
-    @Override
-    public Player getCurrentPlayer() {
-        return currentPlayer;
+        this.lineTiles = new int[Player.values().length][LINES];
+        this.liveLines = LINES;
     }
 
     /**
@@ -65,29 +59,22 @@ public class PlayBoardImpl implements PlayBoard {
      */
     @Override
     public PlayBoard move(int row, int col) throws IllegalMoveException, IllegalArgumentException {
-        if ((row < 0 || row > 2) || (col < 0 || col > 2)) {
+        if ((row < 0 || row >= SIZE) || (col < 0 || col >= SIZE)) {
             throw new IllegalArgumentException(Constants.MOVE_NOT_ALLOWED);
         }
         if (currentBoard[row][col] != null) {
             throw new IllegalMoveException(Constants.MOVE_NOT_ALLOWED);
         }
-        Sign currentPlayerSign = currentPlayer.equals(firstPlayer) ? Sign.X : Sign.O;
-        currentBoard[row][col] = Tile.builder().player(currentPlayer).sign(currentPlayerSign).build();
-
-        // check possible end of the game
-        if (isGameOver()) {
-            Player winner = isThereWinningCombination();
-            setWinner(winner);
-
-            // organize statistics
-            if (winner != null) {
-                if (winner.equals(Player.PLAYER1)) {
-                    stats.incrementFirstPlayerWins();
-                } else {
-                    stats.incrementSecondPlayerWins();
-                }
-            }
-
+        Sign currentPlayerSign = getCurrentPlayer().equals(getFirstPlayer()) ? Sign.X : Sign.O;
+        currentBoard[row][col] = Tile.of(getCurrentPlayer(), currentPlayerSign);
+        filledCells++;
+        updateLines(row, col, getCurrentPlayer(), 1);
+        toggleTileHash(ZOBRIST_KEYS[2 * (row * SIZE + col) + getCurrentPlayer().ordinal()]);
+        recordMove(row, col);
+
+        // check possible end of the game, only the lines through the placed tile can be completed by this move
+        if (getWinner() == null && isWinningMove(row, col)) {
+            declareWinner(getCurrentPlayer());
         }
         return this;
     }
@@ -97,51 +84,74 @@ public class PlayBoardImpl implements PlayBoard {
      */
     @Override
     public boolean isGameOver() {
-        // TODO make a US (not a scope of this feature): there are combinations, by which there is no sense to make a move, because the positions is 100% going to be tie. Also the US is to calculate such positions and to stop the game and announce the tie.
-        return (isTheBoardFilled() || isThereWinningCombination() != null);
+        // the tie is announced as soon as every line has the tiles of both players, the game cannot be won anymore
+        return (getWinner() != null || isTheBoardFilled() || liveLines == 0);
     }
 
     /**
-     * Checks is there a winning position and if it is so, returns the winner.
+     * Updates the numbers of the tiles of the player on the lines through the cell and the number of the live lines.
      *
-     * @return the {@link Player} who won the game or null if there isn't found any winning combination.
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @param player
+     *         the {@link Player}, whose tile is placed or removed
+     * @param delta
+     *         1 if the tile is placed, -1 if it is removed
      */
-    private Player isThereWinningCombination() {
-
-        // Check rows and columns for each player
-        for (int i = 0; i < 3; i++) {
-            // Check rows
-            if (currentBoard[i][0] != null && currentBoard[i][1] != null && currentBoard[i][2] != null) {
-                if (currentBoard[i][0].getPlayer() == currentBoard[i][1].getPlayer() &&
-                        currentBoard[i][1].getPlayer() == currentBoard[i][2].getPlayer()) {
-                    return currentBoard[i][0].getPlayer();
-                }
-            }
-            // Check columns
-            if (currentBoard[0][i] != null && currentBoard[1][i] != null && currentBoard[2][i] != null) {
-                if (currentBoard[0][i].getPlayer() == currentBoard[1][i].getPlayer() &&
-                        currentBoard[1][i].getPlayer() == currentBoard[2][i].getPlayer()) {
-                    return currentBoard[0][i].getPlayer();
-                }
-            }
+    private void updateLines(int row, int col, Player player, int delta) {
+        updateLine(row, player, delta);
+        updateLine(SIZE + col, player, delta);
+        if (row == col) {
+            updateLine(2 * SIZE, player, delta);
         }
+        if (row + col == SIZE - 1) {
+            updateLine(2 * SIZE + 1, player, delta);
+        }
+    }
 
-        // Check diagonals
-        if (currentBoard[0][0] != null && currentBoard[1][1] != null && currentBoard[2][2] != null) {
-            if (currentBoard[0][0].getPlayer() == currentBoard[1][1].getPlayer() &&
-                    currentBoard[1][1].getPlayer() == currentBoard[2][2].getPlayer()) {
-                return currentBoard[0][0].getPlayer();
+    private void updateLine(int line, Player player, int delta) {
+        int[] ownTiles = lineTiles[player.ordinal()];
+        int opponentTiles = lineTiles[1 - player.ordinal()][line];
+        if (opponentTiles > 0) {
+            // the line is blocked by the first tile of the player and is opened by the removal of the last one
+            if (delta > 0 && ownTiles[line] == 0) {
+                liveLines--;
+            } else if (delta < 0 && ownTiles[line] == 1) {
+                liveLines++;
             }
         }
-        if (currentBoard[0][2] != null && currentBoard[1][1] != null && currentBoard[2][0] != null) {
-            if (currentBoard[0][2].getPlayer() == currentBoard[1][1].getPlayer() &&
-                    currentBoard[1][1].getPlayer() == currentBoard[2][0].getPlayer()) {
-                return currentBoard[0][2].getPlayer();
-            }
+        ownTiles[line] += delta;
+    }
+
+    /**
+     * Checks whether the tile placed on the cell completes a winning combination. Only the row,
+     * the column and the diagonals, which go through the cell, are checked.
+     *
+     * @param row
+     *         the row of the placed tile
+     * @param col
+     *         the column of the placed tile
+     * @return true if the placed tile completes a row, a column or a diagonal
+     */
+    private boolean isWinningMove(int row, int col) {
+        Player player = currentBoard[row][col].getPlayer();
+        boolean rowWon = true;
+        boolean columnWon = true;
+        boolean diagonalWon = row == col;
+        boolean antiDiagonalWon = row + col == SIZE - 1;
+        for (int i = 0; i < SIZE; i++) {
+            rowWon = rowWon && isTileOf(player, row, i);
+            columnWon = columnWon && isTileOf(player, i, col);
+            diagonalWon = diagonalWon && isTileOf(player, i, i);
+            antiDiagonalWon = antiDiagonalWon && isTileOf(player, i, SIZE - 1 - i);
         }
+        return rowWon || columnWon || diagonalWon || antiDiagonalWon;
+    }
 
-        // No winning combination found
-        return null;
+    private boolean isTileOf(Player player, int row, int col) {
+        return currentBoard[row][col] != null && currentBoard[row][col].getPlayer() == player;
     }
 
     /**
@@ -155,159 +165,41 @@ public class PlayBoardImpl implements PlayBoard {
             return true;
         }
 
-        // Flatten the 2D array to a 1D stream and check if any element is null
-        return Arrays.stream(currentBoard)
-                .flatMap(Arrays::stream)
-                .allMatch(Objects::nonNull);
-    }
-
-    /**
-     *{@inheritDoc}
-     */
-    @Override
-    public Player getWinner() {
-        return isThereWinningCombination();
-    }
-
-    /**
-     *{@inheritDoc}
-     */
-    @Override
-    public void clearBoard() {
-        this.currentBoard = new Tile[SIZE][SIZE];
+        // the counter is maintained by move(), removeTile() and clearTiles()
+        return filledCells == SIZE * SIZE;
     }
 
     /**
      *{@inheritDoc}
      */
     @Override
-    public void setCurrentPlayer(Player player) {
-        currentPlayer = player;
+    protected void removeTile(int row, int col, Player player) {
+        currentBoard[row][col] = null;
+        filledCells--;
+        updateLines(row, col, player, -1);
+        toggleTileHash(ZOBRIST_KEYS[2 * (row * SIZE + col) + player.ordinal()]);
     }
 
     /**
      *{@inheritDoc}
      */
     @Override
-    public void setFirstPlayer(Player player) {
-        firstPlayer = player;
-    }
-
-    /**
-     *{@inheritDoc}
-     */
-    @Override
-    public void setWinner(Player player) {
-        winner = player;
-    }
-
-    /**
-     *{@inheritDoc}
-     */
-    @Override
-    public void getStatistics() {
-        System.out.printf(
-                "%s has won %s times. \n%s has won %s times.%n",
-                Player.PLAYER1.toString(), stats.getFirstPlayerWins(),
-                Player.PLAYER2.toString(), stats.getSecondPlayerWins()
-        );
-
+    protected void clearTiles() {
+        for (Tile[] row : currentBoard) {
+            Arrays.fill(row, null);
+        }
+        this.filledCells = 0;
+        for (int[] tiles : lineTiles) {
+            Arrays.fill(tiles, 0);
+        }
+        this.liveLines = LINES;
     }
 
-    //    /**
-//     *{@inheritDoc}
-//     */
-//    @Override
-//    public String toString() {
-//        StringBuilder builder = new StringBuilder();
-//        builder.append("\n");
-//        for (int i = 0; i < currentBoard.length; i++) {
-//            for (int j = 0; j < currentBoard[i].length; j++) {
-//
-//                if (currentBoard[i][j] == null) {
-//                    if (j<2) {
-//                        builder.append(" . |");
-//                    } else {
-//                        builder.append(" . ");
-//                    }
-//
-//                } else if (currentBoard[i][j].getPlayer() == Player.PLAYER1) {
-//                    if (firstPlayer.equals(Player.PLAYER1)) {
-//                        if (j<2) {
-//                            builder.append(" X |");
-//                        } else {
-//                            builder.append(" X ");
-//                        }
-//
-//                    } else {
-//                        if (j<2) {
-//                            builder.append(" O |");
-//                        } else {
-//                            builder.append(" O ");
-//                        }
-//                    }
-//
-//                } else if (currentBoard[i][j].getPlayer() == Player.PLAYER2) {
-//                    if (firstPlayer.equals(Player.PLAYER2)) {
-//                        if (j<2) {
-//                            builder.append(" X |");
-//                        } else {
-//                            builder.append(" X ");
-//                        }
-//                    } else {
-//                        if (j<2) {
-//                            builder.append(" O |");
-//                        } else {
-//                            builder.append(" O ");
-//                        }
-//                    }
-//                }
-//
-//                if (j < currentBoard[i].length - 1) {
-//                    builder.append(" ");
-//                }
-//            }
-//            builder.append("\n");
-//
-//            if (i < 2) {
-//                builder.append("-------------");
-//                builder.append("\n");
-//            }
-//        }
-//        return builder.toString();
-//    }
-
     /**
      *{@inheritDoc}
      */
     @Override
-    public String toString() {
-        StringBuilder builder = new StringBuilder("\n");
-
-        for (int i = 0; i < currentBoard.length; i++) {
-            for (int j = 0; j < currentBoard[i].length; j++) {
-                builder.append(formatCell(i, j));
-                if (j < currentBoard[i].length - 1) {
-                    builder.append(" ");
-                }
-            }
-            builder.append("\n");
-            if (i < 2) {
-                builder.append("-------------\n");
-            }
-        }
-        return builder.toString();
-    }
-
-    private String formatCell(int i, int j) {
-        if (currentBoard[i][j] == null) {
-            return j < 2 ? "   |" : "   ";
-        }
-
-        Player player = currentBoard[i][j].getPlayer();
-        boolean isFirstPlayer = firstPlayer.equals(player);
-        String symbol = (isFirstPlayer ? " X " : " O ");
-
-        return j < 2 ? symbol + "|" : symbol;
+    public Player getPlayerAt(int row, int col) {
+        return currentBoard[row][col] == null ? null : currentBoard[row][col].getPlayer();
     }
 }
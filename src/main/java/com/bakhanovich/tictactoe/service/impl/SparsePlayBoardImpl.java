@@ -0,0 +1,281 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.BoardPrinter;
+import com.bakhanovich.tictactoe.utility.Constants;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import com.bakhanovich.tictactoe.utility.LongByteHashMap;
+import com.bakhanovich.tictactoe.utility.Zobrist;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Implements a {@link PlayBoard} of the infinite TicTacToe: the grid has no limits and the game is won
+ * by the configurable number of tiles in a row. The tiles are stored in a {@link LongByteHashMap},
+ * which is keyed by the packed row and column, so a move and the check of the lines through the
+ * last move take amortized constant time and do not allocate. The moves are packed by {@link Coordinates},
+ * so the rows and the columns are limited to the range from {@link Coordinates#MIN_VALUE} to
+ * {@link Coordinates#MAX_VALUE}.
+ * The implementation is used if the property 'tictactoe.board' is set to 'sparse', the win length
+ * is set by the property 'tictactoe.board.win-length'.
+ */
+@Component
+@ConditionalOnProperty(name = "tictactoe.board", havingValue = "sparse")
+@Getter
+public class SparsePlayBoardImpl extends AbstractPlayBoard {
+    private static final Player[] PLAYERS = Player.values();
+    /** the row and the column steps of the directions: horizontal, vertical, diagonal and anti-diagonal */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+
+    private final int winLength;
+    private final LongByteHashMap tiles;
+    private int minRow;
+    private int maxRow;
+    private int minCol;
+    private int maxCol;
+    /** the board of the window around the last move, is created by the first {@link #bestMove(Duration)} */
+    @Getter(AccessLevel.NONE)
+    private KInARowPlayBoardImpl window;
+
+    /**
+     * Constructs a new start {@link SparsePlayBoardImpl}.
+     *
+     * @param winLength
+     *         the number of tiles in a row, which are needed to win the game
+     */
+    @Autowired
+    public SparsePlayBoardImpl(@Value("${tictactoe.board.win-length:5}") int winLength) {
+        if (winLength < 1) {
+            throw new IllegalArgumentException("The win length must be positive");
+        }
+        this.winLength = winLength;
+        this.tiles = new LongByteHashMap();
+    }
+
+    /**
+     * Packs the row and the column of the cell into the key of the {@link LongByteHashMap}.
+     *
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @return the packed key
+     */
+    static long key(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public PlayBoard move(int row, int col) throws IllegalMoveException {
+        if (row < Coordinates.MIN_VALUE || row > Coordinates.MAX_VALUE
+                || col < Coordinates.MIN_VALUE || col > Coordinates.MAX_VALUE) {
+            throw new IllegalMoveException(Constants.MOVE_OUT_OF_RANGE);
+        }
+        long key = key(row, col);
+        if (tiles.get(key) != 0) {
+            throw new IllegalMoveException(Constants.MOVE_NOT_ALLOWED);
+        }
+        byte tile = (byte) (getCurrentPlayer().ordinal() + 1);
+        tiles.put(key, tile);
+        extendBounds(row, col);
+        toggleTileHash(Zobrist.key(row, col, getCurrentPlayer()));
+        recordMove(row, col);
+
+        // check possible end of the game, only the lines through the placed tile can be completed by this move
+        if (getWinner() == null && isWinningMove(row, col, tile)) {
+            declareWinner(getCurrentPlayer());
+        }
+        return this;
+    }
+
+    private void extendBounds(int row, int col) {
+        if (tiles.size() == 1) {
+            minRow = maxRow = row;
+            minCol = maxCol = col;
+        } else {
+            minRow = Math.min(minRow, row);
+            maxRow = Math.max(maxRow, row);
+            minCol = Math.min(minCol, col);
+            maxCol = Math.max(maxCol, col);
+        }
+    }
+
+    private boolean isWinningMove(int row, int col, byte tile) {
+        for (int[] direction : DIRECTIONS) {
+            int run = 1
+                    + countRun(row, col, direction[0], direction[1], tile)
+                    + countRun(row, col, -direction[0], -direction[1], tile);
+            if (run >= winLength) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int countRun(int row, int col, int rowStep, int colStep, byte tile) {
+        int count = 0;
+        int i = row + rowStep;
+        int j = col + colStep;
+        while (count < winLength - 1 && tiles.get(key(i, j)) == tile) {
+            count++;
+            i += rowStep;
+            j += colStep;
+        }
+        return count;
+    }
+
+    /**
+     * The grid has no limits, so the game is over only if one of the players has won.
+     *
+     * @return {@code true} if and only if the game is won.
+     */
+    @Override
+    public boolean isGameOver() {
+        return getWinner() != null;
+    }
+
+    /**
+     * The grid has no limits.
+     *
+     * @return 0
+     */
+    @Override
+    public int getSize() {
+        return 0;
+    }
+
+    /**
+     * Computes the best move in the square window around the last move, the window is
+     * {@code 2 * winLength + 1} wide, so every line through the last move fits into it. The window is
+     * shifted inside the range of {@link Coordinates}, if the last move is close to its border.
+     * The tiles of the window are copied to the {@link KInARowPlayBoardImpl} of the board, which is
+     * cleared and refilled by every call and is searched by the {@link #getEngine() engine}.
+     * The first move is made on the cell (0, 0).
+     *
+     * @return The slot of the move packed by {@link Coordinates#pack(int, int)} or
+     *         {@link Coordinates#NONE} if the game is over.
+     */
+    @Override
+    public int bestMove() {
+        return bestMove(null);
+    }
+
+    /**
+     * Computes the best move in the window around the last move within the time budget,
+     * see {@link #bestMove()}.
+     *
+     * @param budget The time of the search, {@code null} if the search has no time limit.
+     * @return The slot of the move packed by {@link Coordinates#pack(int, int)} or
+     *         {@link Coordinates#NONE} if the game is over.
+     */
+    @Override
+    public int bestMove(Duration budget) {
+        if (isGameOver()) {
+            return Coordinates.NONE;
+        }
+        if (getHistorySize() == 0) {
+            return Coordinates.pack(0, 0);
+        }
+        if (window == null) {
+            window = new KInARowPlayBoardImpl(2 * winLength + 1, winLength);
+        }
+        int size = window.getSize();
+        int topRow = windowStart(getHistoryRow(getHistorySize() - 1), size);
+        int leftCol = windowStart(getHistoryCol(getHistorySize() - 1), size);
+        window.clearBoard();
+        window.setFirstPlayer(getFirstPlayer());
+        try {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    Player player = getPlayerAt(topRow + row, leftCol + col);
+                    if (player != null) {
+                        window.setCurrentPlayer(player);
+                        window.move(row, col);
+                    }
+                }
+            }
+        } catch (IllegalMoveException e) {
+            // the cells of the window are filled once
+            throw new IllegalStateException(e);
+        }
+        window.setCurrentPlayer(getCurrentPlayer());
+        int move = getEngine().bestMove(window, budget);
+        if (move == Coordinates.NONE) {
+            return Coordinates.NONE;
+        }
+        return Coordinates.pack(topRow + Coordinates.row(move), leftCol + Coordinates.col(move));
+    }
+
+    private int windowStart(int last, int size) {
+        return Math.max(Coordinates.MIN_VALUE, Math.min(Coordinates.MAX_VALUE - size + 1, last - winLength));
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    protected void removeTile(int row, int col, Player player) {
+        tiles.remove(key(row, col));
+        toggleTileHash(Zobrist.key(row, col, player));
+        if (row == minRow || row == maxRow || col == minCol || col == maxCol) {
+            // the tile was on the border of the bounding square, the square is restored from the history
+            for (int i = 0; i < getHistorySize() - 1; i++) {
+                int historyRow = getHistoryRow(i);
+                int historyCol = getHistoryCol(i);
+                if (i == 0) {
+                    minRow = maxRow = historyRow;
+                    minCol = maxCol = historyCol;
+                } else {
+                    minRow = Math.min(minRow, historyRow);
+                    maxRow = Math.max(maxRow, historyRow);
+                    minCol = Math.min(minCol, historyCol);
+                    maxCol = Math.max(maxCol, historyCol);
+                }
+            }
+        }
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    protected void clearTiles() {
+        tiles.clear();
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public Player getPlayerAt(int row, int col) {
+        byte tile = tiles.get(key(row, col));
+        return tile == 0 ? null : PLAYERS[tile - 1];
+    }
+
+    /**
+     * Gets the string representation of the smallest square, which contains all tiles
+     * and is at least {@link PlayBoard#SIZE} wide. The upper left corner of the square is the
+     * upper left tile.
+     *
+     * @return The string representation of the tiles.
+     */
+    @Override
+    public String toString() {
+        if (tiles.size() == 0) {
+            return BoardPrinter.print(SIZE, getFirstPlayer(), (row, col) -> null);
+        }
+        int size = Math.max(SIZE, Math.max(maxRow - minRow, maxCol - minCol) + 1);
+        return BoardPrinter.print(size, getFirstPlayer(), (row, col) -> getPlayerAt(minRow + row, minCol + col));
+    }
+}
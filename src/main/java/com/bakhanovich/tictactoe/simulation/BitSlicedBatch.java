@@ -0,0 +1,168 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.model.Stats;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+import java.util.SplittableRandom;
+
+/**
+ * The {@link Simulation} of the random games of the standard 3 x 3 board, which plays 64 games in lockstep.
+ * The games are stored as a structure of arrays: the plane of a cell is a {@code long}, the bit {@code g}
+ * of which is set if the game {@code g} has the tile of the player on the cell, so one move is made in all
+ * games by 9 bitwise operations and the 8 lines are checked in all games by a few more.
+ * The random game picks the empty cells uniformly at random, so it plays the cells in the order of a random
+ * permutation, which is shuffled for every game before the batch. The permutations are transposed to the
+ * masks of the games, which place the tile on the cell at the ply. The games, which are won, are masked out,
+ * the games, which are active after the 9th ply, are ties. The games are played to the last empty cell, so
+ * the number of the moves can be larger than on the boards, which announce the tie as soon as no line can
+ * be completed, the outcomes are the same.
+ * The batch replaces the {@link SelfPlaySimulator} of two {@link RandomPolicy random policies}, it is not
+ * thread-safe, every thread needs its own batch.
+ */
+public class BitSlicedBatch implements Simulation {
+    /** the number of the games, which are played in lockstep */
+    public static final int GAMES_PER_BATCH = Long.SIZE;
+    private static final int CELLS = PlayBoard.SIZE * PlayBoard.SIZE;
+
+    private final SplittableRandom random;
+    /** the games, which place the tile on the cell, by the ply and the cell */
+    private final long[][] order = new long[CELLS][CELLS];
+    private final long[] firstPlanes = new long[CELLS];
+    private final long[] secondPlanes = new long[CELLS];
+    private final int[] permutation = new int[CELLS];
+    /** the games of the last batch, which are won by the first and by the second player */
+    private long firstPlayerWins;
+    private long secondPlayerWins;
+
+    /**
+     * Constructs a new {@link BitSlicedBatch}.
+     *
+     * @param seed
+     *         the seed of the random numbers
+     */
+    public BitSlicedBatch(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public SimulationResult run(long games) {
+        Stats stats = Stats.builder().build();
+        long moves = 0;
+        long start = System.nanoTime();
+        for (long played = 0; played < games; played += GAMES_PER_BATCH) {
+            int batch = (int) Math.min(GAMES_PER_BATCH, games - played);
+            for (int game = 0; game < batch; game++) {
+                shuffle();
+                setOrder(game, permutation);
+            }
+            long batchGames = batch == GAMES_PER_BATCH ? -1L : (1L << batch) - 1;
+            moves += playBatch(batchGames);
+            stats.add(Stats.builder()
+                    .firstPlayerWins(Long.bitCount(firstPlayerWins))
+                    .secondPlayerWins(Long.bitCount(secondPlayerWins))
+                    .ties(batch - Long.bitCount(firstPlayerWins | secondPlayerWins))
+                    .build());
+        }
+        return SimulationResult.builder()
+                .games(games)
+                .moves(moves)
+                .stats(stats)
+                .elapsedNanos(System.nanoTime() - start)
+                .build();
+    }
+
+    private void shuffle() {
+        for (int cell = 0; cell < CELLS; cell++) {
+            permutation[cell] = cell;
+        }
+        for (int i = CELLS - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int cell = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = cell;
+        }
+    }
+
+    /**
+     * Sets the order of the cells, in which the game of the next batch is played.
+     *
+     * @param game
+     *         the index of the game in the batch, from 0 to 63
+     * @param cells
+     *         the permutation of the cells in row-major order
+     */
+    void setOrder(int game, int[] cells) {
+        long bit = 1L << game;
+        for (int ply = 0; ply < CELLS; ply++) {
+            for (int cell = 0; cell < CELLS; cell++) {
+                order[ply][cell] &= ~bit;
+            }
+            order[ply][cells[ply]] |= bit;
+        }
+    }
+
+    /**
+     * Plays the games of the batch in lockstep in the order of the cells, which is set by
+     * {@link #setOrder(int, int[])}.
+     *
+     * @param games
+     *         the mask of the games of the batch
+     * @return the number of the moves made in all games
+     */
+    long playBatch(long games) {
+        long active = games;
+        long moves = 0;
+        firstPlayerWins = 0;
+        secondPlayerWins = 0;
+        for (int cell = 0; cell < CELLS; cell++) {
+            firstPlanes[cell] = 0;
+            secondPlanes[cell] = 0;
+        }
+        for (int ply = 0; ply < CELLS && active != 0; ply++) {
+            moves += Long.bitCount(active);
+            long[] planes = ply % 2 == 0 ? firstPlanes : secondPlanes;
+            long[] movers = order[ply];
+            for (int cell = 0; cell < CELLS; cell++) {
+                planes[cell] |= movers[cell] & active;
+            }
+            long won = wins(planes) & active;
+            if (ply % 2 == 0) {
+                firstPlayerWins |= won;
+            } else {
+                secondPlayerWins |= won;
+            }
+            active &= ~won;
+        }
+        return moves;
+    }
+
+    /**
+     * Finds the games, in which the player has completed a line: the rows, the columns and the diagonals.
+     */
+    private static long wins(long[] p) {
+        return p[0] & p[1] & p[2] | p[3] & p[4] & p[5] | p[6] & p[7] & p[8]
+                | p[0] & p[3] & p[6] | p[1] & p[4] & p[7] | p[2] & p[5] & p[8]
+                | p[0] & p[4] & p[8] | p[2] & p[4] & p[6];
+    }
+
+    /**
+     * Gets the games of the last batch, which are won by the first player.
+     *
+     * @return the mask of the games
+     */
+    long getFirstPlayerWins() {
+        return firstPlayerWins;
+    }
+
+    /**
+     * Gets the games of the last batch, which are won by the second player.
+     *
+     * @return the mask of the games
+     */
+    long getSecondPlayerWins() {
+        return secondPlayerWins;
+    }
+}
@@ -0,0 +1,29 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.service.Engine;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+/**
+ * Implements a {@link Policy}, which plays the best moves computed by the {@link Engine}.
+ */
+public class EnginePolicy implements Policy {
+    private final Engine engine;
+
+    /**
+     * Constructs a new {@link EnginePolicy}.
+     *
+     * @param engine
+     *         the {@link Engine}
+     */
+    public EnginePolicy(Engine engine) {
+        this.engine = engine;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public int nextMove(PlayBoard board) {
+        return engine.bestMove(board);
+    }
+}
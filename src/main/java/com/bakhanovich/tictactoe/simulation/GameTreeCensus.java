@@ -0,0 +1,359 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Enumerates every game of the game tree (perft) and counts the outcomes by the length of the game: the wins
+ * of the first player (X), the wins of the second player (O) and the draws. The game ends when a player has
+ * completed a line or when the grid is full, the ties, which are announced earlier by the boards, because no
+ * line can be completed anymore, are played to the end, so the counts do not depend on the implementation of
+ * the {@link PlayBoard}. The standard 3 x 3 game has 255168 games: 131184 wins of X, 77904 wins of O and
+ * 46080 draws, so the census is the oracle of the correctness of a new board and the benchmark of the moves
+ * and of the check of the win. The larger boards are enumerated up to the depth, the games, which are not
+ * over at the depth, are counted as unfinished.
+ * The moves of the first plies are split into the tasks of the {@link ForkJoinPool}, every task replays its
+ * moves on its own board.
+ */
+public class GameTreeCensus {
+    /** the games after the moves of the plies less than the split depth are counted by the separate tasks */
+    private static final int SPLIT_DEPTH = 3;
+
+    private final Supplier<PlayBoard> boards;
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a new {@link GameTreeCensus}.
+     *
+     * @param boards
+     *         creates the empty square board of a task
+     * @param pool
+     *         the {@link ForkJoinPool}, in which the enumeration runs
+     */
+    public GameTreeCensus(Supplier<PlayBoard> boards, ForkJoinPool pool) {
+        this.boards = boards;
+        this.pool = pool;
+    }
+
+    /**
+     * Enumerates the games up to the depth.
+     *
+     * @param depth
+     *         the largest number of the moves, the number of the cells to enumerate the complete games
+     * @return the {@link Census}
+     */
+    public Census run(int depth) {
+        int size = boards.get().getSize();
+        int cells = size * size;
+        if (cells == 0) {
+            throw new IllegalArgumentException("The grid of the board has no limits");
+        }
+        long start = System.nanoTime();
+        Census census = pool.invoke(new CensusTask(new int[0], Math.min(depth, cells)));
+        census.elapsedNanos = System.nanoTime() - start;
+        return census;
+    }
+
+    /**
+     * Counts the games after the moves of the prefix on its own board.
+     */
+    private final class CensusTask extends RecursiveTask<Census> {
+        private final int[] prefix;
+        private final int depth;
+
+        private CensusTask(int[] prefix, int depth) {
+            this.prefix = prefix;
+            this.depth = depth;
+        }
+
+        @Override
+        protected Census compute() {
+            PlayBoard board = boards.get();
+            Census census = new Census(board.getSize() * board.getSize());
+            List<CensusTask> tasks = new ArrayList<>();
+            try {
+                for (int cell : prefix) {
+                    makeMove(board, cell);
+                }
+                enumerate(board, census, tasks);
+            } catch (IllegalMoveException e) {
+                // the moves are made on the empty cells only
+                throw new IllegalStateException(e);
+            }
+            invokeAll(tasks);
+            for (CensusTask task : tasks) {
+                census.add(task.join());
+            }
+            return census;
+        }
+
+        private void enumerate(PlayBoard board, Census census, List<CensusTask> tasks) throws IllegalMoveException {
+            int size = board.getSize();
+            for (int cell = 0; cell < size * size; cell++) {
+                if (board.getPlayerAt(cell / size, cell % size) != null) {
+                    continue;
+                }
+                if (prefix.length + 1 < SPLIT_DEPTH && prefix.length + 1 < depth) {
+                    // the games after the moves of the first plies are counted by the separate tasks
+                    int[] childPrefix = Arrays.copyOf(prefix, prefix.length + 1);
+                    childPrefix[prefix.length] = cell;
+                    if (!isOver(board, cell, census, prefix.length + 1)) {
+                        tasks.add(new CensusTask(childPrefix, depth));
+                    }
+                } else {
+                    count(board, cell, census, prefix.length + 1);
+                }
+            }
+        }
+
+        /**
+         * Makes the move, counts the games after it and takes the move back.
+         */
+        private void count(PlayBoard board, int cell, Census census, int moves) throws IllegalMoveException {
+            Player player = makeMove(board, cell);
+            census.nodes++;
+            if (!record(board, census, moves)) {
+                int size = board.getSize();
+                for (int next = 0; next < size * size; next++) {
+                    if (board.getPlayerAt(next / size, next % size) == null) {
+                        count(board, next, census, moves + 1);
+                    }
+                }
+            }
+            board.unmake(cell / board.getSize(), cell % board.getSize());
+            board.setCurrentPlayer(player);
+        }
+
+        /**
+         * Checks whether the game is over after the move, the over game is counted.
+         */
+        private boolean isOver(PlayBoard board, int cell, Census census, int moves) throws IllegalMoveException {
+            Player player = makeMove(board, cell);
+            census.nodes++;
+            boolean over = record(board, census, moves);
+            board.unmake(cell / board.getSize(), cell % board.getSize());
+            board.setCurrentPlayer(player);
+            return over;
+        }
+
+        /**
+         * Counts the game, which is won, drawn or reaches the depth.
+         *
+         * @return true if the game is counted, false if it goes on
+         */
+        private boolean record(PlayBoard board, Census census, int moves) {
+            Player winner = board.getWinner();
+            if (winner == Player.PLAYER1) {
+                census.firstPlayerWins[moves]++;
+            } else if (winner == Player.PLAYER2) {
+                census.secondPlayerWins[moves]++;
+            } else if (moves == census.draws.length - 1) {
+                census.draws[moves]++;
+            } else if (moves == depth) {
+                census.unfinished++;
+            } else {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Makes the move of the current player and passes the turn to the opponent.
+     *
+     * @return the player, who has made the move
+     */
+    private static Player makeMove(PlayBoard board, int cell) throws IllegalMoveException {
+        Player player = board.getCurrentPlayer();
+        board.move(cell / board.getSize(), cell % board.getSize());
+        board.setCurrentPlayer(player == Player.PLAYER1 ? Player.PLAYER2 : Player.PLAYER1);
+        return player;
+    }
+
+    /**
+     * The counts of the games by the outcome and the number of the moves.
+     */
+    public static final class Census {
+        private final long[] firstPlayerWins;
+        private final long[] secondPlayerWins;
+        private final long[] draws;
+        private long unfinished;
+        private long nodes;
+        private long elapsedNanos;
+
+        private Census(int cells) {
+            this.firstPlayerWins = new long[cells + 1];
+            this.secondPlayerWins = new long[cells + 1];
+            this.draws = new long[cells + 1];
+        }
+
+        private void add(Census other) {
+            for (int moves = 0; moves < draws.length; moves++) {
+                firstPlayerWins[moves] += other.firstPlayerWins[moves];
+                secondPlayerWins[moves] += other.secondPlayerWins[moves];
+                draws[moves] += other.draws[moves];
+            }
+            unfinished += other.unfinished;
+            nodes += other.nodes;
+        }
+
+        /**
+         * Gets the number of the games, which are won by the first player with the number of the moves.
+         *
+         * @param moves
+         *         the number of the moves of both players
+         * @return the number of the games
+         */
+        public long getFirstPlayerWins(int moves) {
+            return firstPlayerWins[moves];
+        }
+
+        /**
+         * Gets the number of the games, which are won by the second player with the number of the moves.
+         *
+         * @param moves
+         *         the number of the moves of both players
+         * @return the number of the games
+         */
+        public long getSecondPlayerWins(int moves) {
+            return secondPlayerWins[moves];
+        }
+
+        /**
+         * Gets the number of the games, which are drawn with the number of the moves.
+         *
+         * @param moves
+         *         the number of the moves of both players
+         * @return the number of the games
+         */
+        public long getDraws(int moves) {
+            return draws[moves];
+        }
+
+        /**
+         * Gets the number of the games, which are won by the first player.
+         *
+         * @return the number of the games
+         */
+        public long getFirstPlayerWins() {
+            return Arrays.stream(firstPlayerWins).sum();
+        }
+
+        /**
+         * Gets the number of the games, which are won by the second player.
+         *
+         * @return the number of the games
+         */
+        public long getSecondPlayerWins() {
+            return Arrays.stream(secondPlayerWins).sum();
+        }
+
+        /**
+         * Gets the number of the games, which are drawn.
+         *
+         * @return the number of the games
+         */
+        public long getDraws() {
+            return Arrays.stream(draws).sum();
+        }
+
+        /**
+         * Gets the number of the games, which are not over at the depth of the enumeration.
+         *
+         * @return the number of the games
+         */
+        public long getUnfinished() {
+            return unfinished;
+        }
+
+        /**
+         * Gets the number of the games, the over and the unfinished ones.
+         *
+         * @return the number of the games
+         */
+        public long getGames() {
+            return getFirstPlayerWins() + getSecondPlayerWins() + getDraws() + unfinished;
+        }
+
+        /**
+         * Gets the number of the moves made by the enumeration.
+         *
+         * @return the number of the nodes
+         */
+        public long getNodes() {
+            return nodes;
+        }
+
+        /**
+         * Gets the wall time of the enumeration.
+         *
+         * @return the time in nanoseconds
+         */
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Computes the throughput of the enumeration.
+         *
+         * @return the number of the moves per second
+         */
+        public double getNodesPerSecond() {
+            return elapsedNanos == 0 ? 0 : nodes * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Formats the counts of the games by the number of the moves and the throughput.
+         *
+         * @return the report
+         */
+        public String report() {
+            StringBuilder report = new StringBuilder(String.format("%6s %12s %12s %12s%n",
+                    "moves", "X wins", "O wins", "draws"));
+            for (int moves = 1; moves < draws.length; moves++) {
+                if (firstPlayerWins[moves] + secondPlayerWins[moves] + draws[moves] > 0) {
+                    report.append(String.format("%6d %12d %12d %12d%n",
+                            moves, firstPlayerWins[moves], secondPlayerWins[moves], draws[moves]));
+                }
+            }
+            report.append(String.format("%6s %12d %12d %12d%n", "total",
+                    getFirstPlayerWins(), getSecondPlayerWins(), getDraws()));
+            report.append(String.format("%d games, %d unfinished, %d nodes in %.1f ms: %.0f nodes/s%n",
+                    getGames(), unfinished, nodes, elapsedNanos / 1e6, getNodesPerSecond()));
+            return report.toString();
+        }
+    }
+
+    /**
+     * Runs the census and prints the report.
+     *
+     * @param args
+     *         the board (tile), the depth (the number of the cells), the number of the threads (the number of
+     *         the processors), the size (4) and the win length (4) of the k-in-a-row board
+     */
+    public static void main(String[] args) {
+        String boardName = args.length > 0 ? args[0] : "tile";
+        int depth = args.length > 1 ? Integer.parseInt(args[1]) : Integer.MAX_VALUE;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        int size = args.length > 3 ? Integer.parseInt(args[3]) : 4;
+        int winLength = args.length > 4 ? Integer.parseInt(args[4]) : 4;
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            GameTreeCensus census = new GameTreeCensus(() -> SelfPlaySimulator.createBoard(boardName, size, winLength),
+                    pool);
+            // the warm-up compiles the hot methods before the measurement
+            census.run(depth);
+            System.out.print(census.run(depth).report());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
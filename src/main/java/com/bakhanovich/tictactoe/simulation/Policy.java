@@ -0,0 +1,23 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+
+/**
+ * Interface for a policy, which chooses the moves of a player in the simulated games.
+ */
+public interface Policy {
+    /**
+     * Is called before every game, e.g. to rewind the script of the moves.
+     */
+    default void startGame() {
+    }
+
+    /**
+     * Chooses the move of the current player of the board. The board should be left as it was before the call.
+     *
+     * @param board The board, the game of which is not over.
+     * @return The slot of the move packed by {@link Coordinates#pack(int, int)}.
+     */
+    int nextMove(PlayBoard board);
+}
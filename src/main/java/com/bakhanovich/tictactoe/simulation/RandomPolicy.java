@@ -0,0 +1,56 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+
+import java.util.SplittableRandom;
+
+/**
+ * Implements a {@link Policy}, which chooses one of the empty cells of the grid uniformly at random.
+ * The random numbers are generated by a {@link SplittableRandom}, so the games are reproducible by the seed.
+ * The policy is not thread-safe, every thread of the simulation needs its own policy.
+ */
+public class RandomPolicy implements Policy {
+    private final SplittableRandom random;
+
+    /**
+     * Constructs a new {@link RandomPolicy}.
+     *
+     * @param seed
+     *         the seed of the random numbers
+     */
+    public RandomPolicy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     *{@inheritDoc}
+     *
+     * @throws IllegalArgumentException if the grid of the board has no limits
+     */
+    @Override
+    public int nextMove(PlayBoard board) {
+        int size = board.getSize();
+        if (size == 0) {
+            throw new IllegalArgumentException("The grid of the board has no limits");
+        }
+        int emptyCells = 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board.getPlayerAt(row, col) == null) {
+                    emptyCells++;
+                }
+            }
+        }
+        // the chosen empty cell is found by the second pass
+        int chosen = random.nextInt(emptyCells);
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                if (board.getPlayerAt(row, col) == null && chosen-- == 0) {
+                    return Coordinates.pack(row, col);
+                }
+            }
+        }
+        throw new IllegalStateException("The board has no empty cells");
+    }
+}
@@ -0,0 +1,51 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+
+/**
+ * Implements a {@link Policy}, which plays the moves of the script in the given order, e.g. to replay an
+ * opening. The scripted moves on the occupied cells are skipped, after the end of the script the moves are
+ * chosen by the fallback {@link Policy}. The script is rewound at the start of every game.
+ */
+public class ScriptedPolicy implements Policy {
+    private final int[] moves;
+    private final Policy fallback;
+    private int next;
+
+    /**
+     * Constructs a new {@link ScriptedPolicy}.
+     *
+     * @param moves
+     *         the moves packed by {@link Coordinates#pack(int, int)}
+     * @param fallback
+     *         the {@link Policy}, which chooses the moves after the end of the script
+     */
+    public ScriptedPolicy(int[] moves, Policy fallback) {
+        this.moves = moves.clone();
+        this.fallback = fallback;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public void startGame() {
+        next = 0;
+        fallback.startGame();
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public int nextMove(PlayBoard board) {
+        while (next < moves.length) {
+            int move = moves[next++];
+            if (board.getPlayerAt(Coordinates.row(move), Coordinates.col(move)) == null) {
+                return move;
+            }
+        }
+        return fallback.nextMove(board);
+    }
+}
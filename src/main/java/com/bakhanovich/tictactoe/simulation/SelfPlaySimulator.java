@@ -0,0 +1,196 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.model.Stats;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.service.impl.BitBoardPlayBoardImpl;
+import com.bakhanovich.tictactoe.service.impl.KInARowPlayBoardImpl;
+import com.bakhanovich.tictactoe.service.impl.MctsEngine;
+import com.bakhanovich.tictactoe.service.impl.MinimaxEngine;
+import com.bakhanovich.tictactoe.service.impl.PlayBoardImpl;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays complete games between two {@link Policy policies} directly on a {@link PlayBoard}, without the
+ * Spring context and without the console, e.g. to load-test the changes of the rules. The board is cleared
+ * and reused by every game, {@link Player#PLAYER1} makes the first move. The simulator is not thread-safe,
+ * every thread needs its own simulator, board and policies.
+ */
+public class SelfPlaySimulator implements Simulation {
+    /** the time of one move of the policy 'mcts' */
+    public static final Duration MCTS_BUDGET = Duration.ofMillis(10);
+
+    private final PlayBoard board;
+    private final Policy firstPolicy;
+    private final Policy secondPolicy;
+
+    /**
+     * Constructs a new {@link SelfPlaySimulator}.
+     *
+     * @param board
+     *         the {@link PlayBoard}, on which the games are played
+     * @param firstPolicy
+     *         the {@link Policy} of {@link Player#PLAYER1}
+     * @param secondPolicy
+     *         the {@link Policy} of {@link Player#PLAYER2}
+     */
+    public SelfPlaySimulator(PlayBoard board, Policy firstPolicy, Policy secondPolicy) {
+        this.board = board;
+        this.firstPolicy = firstPolicy;
+        this.secondPolicy = secondPolicy;
+    }
+
+    /**
+     *{@inheritDoc}
+     */
+    @Override
+    public SimulationResult run(long games) {
+        Stats stats = Stats.builder().build();
+        long moves = 0;
+        long start = System.nanoTime();
+        for (long game = 0; game < games; game++) {
+            moves += playGame(stats);
+        }
+        return SimulationResult.builder()
+                .games(games)
+                .moves(moves)
+                .stats(stats)
+                .elapsedNanos(System.nanoTime() - start)
+                .build();
+    }
+
+    /**
+     * Plays one game and counts its outcome.
+     *
+     * @param stats
+     *         the {@link Stats}, to which the outcome is added
+     * @return the number of the moves of the game
+     */
+    public int playGame(Stats stats) {
+        board.clearBoard();
+        board.setFirstPlayer(Player.PLAYER1);
+        board.setCurrentPlayer(Player.PLAYER1);
+        firstPolicy.startGame();
+        secondPolicy.startGame();
+        int moves = 0;
+        try {
+            while (!board.isGameOver()) {
+                Player player = board.getCurrentPlayer();
+                board.move((player == Player.PLAYER1 ? firstPolicy : secondPolicy).nextMove(board));
+                board.setCurrentPlayer(player == Player.PLAYER1 ? Player.PLAYER2 : Player.PLAYER1);
+                moves++;
+            }
+        } catch (IllegalMoveException e) {
+            throw new IllegalStateException("The policy has chosen an occupied cell", e);
+        }
+        Player winner = board.getWinner();
+        if (winner == Player.PLAYER1) {
+            stats.incrementFirstPlayerWins();
+        } else if (winner == Player.PLAYER2) {
+            stats.incrementSecondPlayerWins();
+        } else {
+            stats.incrementTies();
+        }
+        return moves;
+    }
+
+    /**
+     * Creates the {@link PlayBoard} by the name, which is used by the property 'tictactoe.board'.
+     *
+     * @param name
+     *         'tile', 'bitboard' or 'k-in-a-row'
+     * @param size
+     *         the size of the k-in-a-row board
+     * @param winLength
+     *         the win length of the k-in-a-row board
+     * @return the new board
+     */
+    public static PlayBoard createBoard(String name, int size, int winLength) {
+        switch (name) {
+            case "tile":
+                return new PlayBoardImpl();
+            case "bitboard":
+                return new BitBoardPlayBoardImpl();
+            case "k-in-a-row":
+                return new KInARowPlayBoardImpl(size, winLength);
+            default:
+                throw new IllegalArgumentException("Unknown board: " + name);
+        }
+    }
+
+    /**
+     * Creates the {@link Policy} by the name.
+     *
+     * @param name
+     *         'random', 'engine' (the {@link MinimaxEngine}) or 'mcts' (the {@link MctsEngine} of one tree,
+     *         which searches every move for {@link #MCTS_BUDGET})
+     * @param seed
+     *         the seed of the random policy and of the playouts of the 'mcts' policy
+     * @return the new policy
+     */
+    public static Policy createPolicy(String name, long seed) {
+        switch (name) {
+            case "random":
+                return new RandomPolicy(seed);
+            case "engine":
+                return new EnginePolicy(new MinimaxEngine());
+            case "mcts":
+                return new EnginePolicy(new MctsEngine(MCTS_BUDGET, ForkJoinPool.commonPool(), 1,
+                        MctsEngine.DEFAULT_MAX_NODES, seed));
+            default:
+                throw new IllegalArgumentException("Unknown policy: " + name);
+        }
+    }
+
+    /**
+     * Creates the {@link Simulation} by the names of the board and the policies. The board 'bit-sliced'
+     * is the {@link BitSlicedBatch} of the 3 x 3 games, which plays the random policies only.
+     *
+     * @param boardName
+     *         'tile', 'bitboard', 'k-in-a-row' or 'bit-sliced'
+     * @param size
+     *         the size of the k-in-a-row board
+     * @param winLength
+     *         the win length of the k-in-a-row board
+     * @param firstPolicy
+     *         the name of the policy of {@link Player#PLAYER1}
+     * @param secondPolicy
+     *         the name of the policy of {@link Player#PLAYER2}
+     * @param seed
+     *         the seed of the random numbers
+     * @return the new simulation
+     */
+    public static Simulation createSimulation(String boardName, int size, int winLength,
+                                              String firstPolicy, String secondPolicy, long seed) {
+        if (boardName.equals("bit-sliced")) {
+            if (!firstPolicy.equals("random") || !secondPolicy.equals("random")) {
+                throw new IllegalArgumentException("The bit-sliced batch plays the random policies only");
+            }
+            return new BitSlicedBatch(seed);
+        }
+        return new SelfPlaySimulator(createBoard(boardName, size, winLength),
+                createPolicy(firstPolicy, seed), createPolicy(secondPolicy, seed + 1));
+    }
+
+    /**
+     * Runs the simulation and prints the report.
+     *
+     * @param args
+     *         the number of the games (1000000), the board (bitboard), the policies of the first and the
+     *         second players (random), the seed (1), the size (15) and the win length (5) of the k-in-a-row board
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        String boardName = args.length > 1 ? args[1] : "bitboard";
+        String firstPolicy = args.length > 2 ? args[2] : "random";
+        String secondPolicy = args.length > 3 ? args[3] : "random";
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+        int size = args.length > 5 ? Integer.parseInt(args[5]) : 15;
+        int winLength = args.length > 6 ? Integer.parseInt(args[6]) : 5;
+        Simulation simulation = createSimulation(boardName, size, winLength, firstPolicy, secondPolicy, seed);
+        System.out.print(simulation.run(games).report());
+    }
+}
@@ -0,0 +1,14 @@
+package com.bakhanovich.tictactoe.simulation;
+
+/**
+ * Interface for a backend of the simulation, which plays a batch of complete games.
+ */
+public interface Simulation {
+    /**
+     * Plays the games and measures the throughput.
+     *
+     * @param games The number of the games.
+     * @return The {@link SimulationResult}.
+     */
+    SimulationResult run(long games);
+}
@@ -0,0 +1,40 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.model.Stats;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A {@link SimulationResult} encapsulates the outcome of the simulated games: the number of the games
+ * and the moves, the aggregate {@link Stats} and the elapsed time.
+ */
+@Getter
+@Builder
+public class SimulationResult {
+    private static final String REPORT = "%d games, %d moves in %.1f ms: %.0f games/s%n"
+            + "PLAYER1 has won %d times, PLAYER2 has won %d times, %d ties%n";
+
+    private long games;
+    private long moves;
+    private Stats stats;
+    private long elapsedNanos;
+
+    /**
+     * Computes the throughput of the simulation.
+     *
+     * @return the number of the games per second
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Formats the report of the simulation.
+     *
+     * @return the throughput and the statistics of the games
+     */
+    public String report() {
+        return String.format(REPORT, games, moves, elapsedNanos / 1e6, getGamesPerSecond(),
+                stats.getFirstPlayerWins(), stats.getSecondPlayerWins(), stats.getTies());
+    }
+}
@@ -0,0 +1,143 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.model.Stats;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+
+/**
+ * Shards a batch of games across the workers, every worker runs its own {@link Simulation}, e.g. the
+ * {@link SelfPlaySimulator} with its own board, policies and {@link Stats}, so the workers share nothing
+ * while they play. The results of the workers are merged after all of them have finished.
+ * The seeds of the workers are derived from the seed of the tournament in the order of the workers, and
+ * every worker plays a fixed share of the games, so the result is deterministic for the seed and the number
+ * of the workers.
+ */
+public class TournamentRunner {
+    private final LongFunction<Simulation> simulations;
+
+    /**
+     * Constructs a new {@link TournamentRunner}.
+     *
+     * @param boards
+     *         creates the board of a worker
+     * @param firstPolicies
+     *         creates the {@link Policy} of {@link Player#PLAYER1} of a worker by the seed
+     * @param secondPolicies
+     *         creates the {@link Policy} of {@link Player#PLAYER2} of a worker by the seed
+     */
+    public TournamentRunner(Supplier<PlayBoard> boards, LongFunction<Policy> firstPolicies,
+                            LongFunction<Policy> secondPolicies) {
+        this(seed -> {
+            SplittableRandom seeds = new SplittableRandom(seed);
+            return new SelfPlaySimulator(boards.get(),
+                    firstPolicies.apply(seeds.nextLong()), secondPolicies.apply(seeds.nextLong()));
+        });
+    }
+
+    /**
+     * Constructs a new {@link TournamentRunner}.
+     *
+     * @param simulations
+     *         creates the {@link Simulation} of a worker by the seed
+     */
+    public TournamentRunner(LongFunction<Simulation> simulations) {
+        this.simulations = simulations;
+    }
+
+    /**
+     * Plays the games on the workers and merges their results.
+     *
+     * @param games
+     *         the number of the games
+     * @param workers
+     *         the number of the worker threads
+     * @param seed
+     *         the seed of the tournament
+     * @return the merged {@link SimulationResult}, the elapsed time is the wall time of the tournament
+     */
+    public SimulationResult run(long games, int workers, long seed) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("The number of the workers must be positive");
+        }
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Simulation> workerSimulations = new ArrayList<>(workers);
+        for (int worker = 0; worker < workers; worker++) {
+            workerSimulations.add(simulations.apply(seeds.nextLong()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            long start = System.nanoTime();
+            List<Future<SimulationResult>> results = new ArrayList<>(workers);
+            for (int worker = 0; worker < workers; worker++) {
+                // the first games % workers workers play one game more
+                long share = games / workers + (worker < games % workers ? 1 : 0);
+                Simulation simulation = workerSimulations.get(worker);
+                results.add(executor.submit(() -> simulation.run(share)));
+            }
+            Stats stats = Stats.builder().build();
+            long moves = 0;
+            for (Future<SimulationResult> result : results) {
+                SimulationResult workerResult = result.get();
+                stats.add(workerResult.getStats());
+                moves += workerResult.getMoves();
+            }
+            return SimulationResult.builder()
+                    .games(games)
+                    .moves(moves)
+                    .stats(stats)
+                    .elapsedNanos(System.nanoTime() - start)
+                    .build();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs the tournament with 1, 2, 4, ... workers up to the number of the processors and prints the
+     * throughput and the scaling efficiency: the time of one worker divided by the number of the workers
+     * and their time.
+     *
+     * @param args
+     *         the number of the games (4000000), the board (bitboard or bit-sliced), the policies of the first and the
+     *         second players (random), the seed (1), the size (15) and the win length (5) of the k-in-a-row board
+     */
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 4_000_000;
+        String boardName = args.length > 1 ? args[1] : "bitboard";
+        String firstPolicy = args.length > 2 ? args[2] : "random";
+        String secondPolicy = args.length > 3 ? args[3] : "random";
+        long seed = args.length > 4 ? Long.parseLong(args[4]) : 1;
+        int size = args.length > 5 ? Integer.parseInt(args[5]) : 15;
+        int winLength = args.length > 6 ? Integer.parseInt(args[6]) : 5;
+        TournamentRunner runner = new TournamentRunner(workerSeed -> SelfPlaySimulator.createSimulation(
+                boardName, size, winLength, firstPolicy, secondPolicy, workerSeed));
+        // the warm-up compiles the hot methods before the measurement
+        runner.run(games / 10, 1, seed);
+        System.out.printf("%8s %12s %14s %10s%n", "workers", "time, ms", "games/s", "efficiency");
+        double singleWorkerNanos = 0;
+        for (int workers = 1; workers <= Runtime.getRuntime().availableProcessors(); workers *= 2) {
+            SimulationResult result = runner.run(games, workers, seed);
+            if (workers == 1) {
+                singleWorkerNanos = result.getElapsedNanos();
+            }
+            System.out.printf("%8d %12.1f %14.0f %10.2f%n", workers, result.getElapsedNanos() / 1e6,
+                    result.getGamesPerSecond(), singleWorkerNanos / (workers * result.getElapsedNanos()));
+            System.out.print(result.report());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+import java.util.Arrays;
+
+/**
+ * Utility class. Contains the precomputed masks of the {@link PlayBoard}, which is stored as bitmask.
+ * The cell (row, col) corresponds to the bit {@code row * SIZE + col}.
+ */
+public class BitBoards {
+    /** the mask of the board with all cells filled */
+    public static final int FULL_BOARD = (1 << PlayBoard.SIZE * PlayBoard.SIZE) - 1;
+
+    /** the masks of all rows, columns and both diagonals */
+    private static final int[] WIN_MASKS = new int[2 * PlayBoard.SIZE + 2];
+
+    /** the masks of the rows, columns and diagonals, which go through the cell, by the index of the cell */
+    private static final int[][] LINES_THROUGH_CELL = new int[PlayBoard.SIZE * PlayBoard.SIZE][];
+
+    static {
+        int line = 0;
+        int diagonal = 0;
+        int antiDiagonal = 0;
+        for (int i = 0; i < PlayBoard.SIZE; i++) {
+            int row = 0;
+            int column = 0;
+            for (int j = 0; j < PlayBoard.SIZE; j++) {
+                row |= bit(i, j);
+                column |= bit(j, i);
+            }
+            WIN_MASKS[line++] = row;
+            WIN_MASKS[line++] = column;
+            diagonal |= bit(i, i);
+            antiDiagonal |= bit(i, PlayBoard.SIZE - 1 - i);
+        }
+        WIN_MASKS[line++] = diagonal;
+        WIN_MASKS[line] = antiDiagonal;
+
+        for (int cell = 0; cell < LINES_THROUGH_CELL.length; cell++) {
+            int cellBit = 1 << cell;
+            LINES_THROUGH_CELL[cell] = Arrays.stream(WIN_MASKS)
+                    .filter(mask -> (mask & cellBit) != 0)
+                    .toArray();
+        }
+    }
+
+    /**
+     * Returns the bit of the cell.
+     *
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @return the mask with the only bit of the cell set
+     */
+    public static int bit(int row, int col) {
+        return 1 << (row * PlayBoard.SIZE + col);
+    }
+
+    /**
+     * Checks whether the tiles contain a complete row, column or diagonal.
+     *
+     * @param tiles
+     *         the mask of the tiles of one player
+     * @return true if there is a winning combination in the tiles
+     */
+    public static boolean hasLine(int tiles) {
+        for (int mask : WIN_MASKS) {
+            if ((tiles & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a row, column or diagonal still can be completed: it has no tiles of one of the players.
+     *
+     * @param firstPlayerTiles
+     *         the mask of the tiles of the first player
+     * @param secondPlayerTiles
+     *         the mask of the tiles of the second player
+     * @return false if every line has the tiles of both players, i.e. the game is a tie
+     */
+    public static boolean hasLiveLine(int firstPlayerTiles, int secondPlayerTiles) {
+        for (int mask : WIN_MASKS) {
+            if ((firstPlayerTiles & mask) == 0 || (secondPlayerTiles & mask) == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the tile placed on the cell completes a row, column or diagonal.
+     * Only the lines, which go through the cell, are checked.
+     *
+     * @param tiles
+     *         the mask of the tiles of the player, who has placed the tile
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @return true if the tile on the cell completes a winning combination
+     */
+    public static boolean isWinningMove(int tiles, int row, int col) {
+        for (int mask : LINES_THROUGH_CELL[row * PlayBoard.SIZE + col]) {
+            if ((tiles & mask) == mask) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * the caller should be prevented from constructing objects of this class
+     * by declaring this private constructor
+     */
+    private BitBoards() {
+
+        // this prevent even the native class from call in this ctor as well
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,92 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+/**
+ * Utility class. Builds the string representation of a board as row x column matrix, which is
+ * described by {@link PlayBoard#toString()}.
+ */
+public class BoardPrinter {
+
+    /**
+     * Provides the {@link Player}, whose tile is placed on a cell of the board.
+     */
+    @FunctionalInterface
+    public interface CellReader {
+        /**
+         * Returns the {@link Player}, whose tile is placed on the cell.
+         *
+         * @param row
+         *         the row of the cell
+         * @param col
+         *         the column of the cell
+         * @return the {@link Player} or null if the cell is empty
+         */
+        Player getPlayerAt(int row, int col);
+    }
+
+    /**
+     * Returns the string representation of the board of the size {@link PlayBoard#SIZE}.
+     *
+     * @param firstPlayer
+     *         the {@link Player}, that made the first move of the game and plays with 'X'
+     * @param cells
+     *         the {@link CellReader} of the board
+     * @return the string representation of the board
+     */
+    public static String print(Player firstPlayer, CellReader cells) {
+        return print(PlayBoard.SIZE, firstPlayer, cells);
+    }
+
+    /**
+     * Returns the string representation of the square board.
+     *
+     * @param size
+     *         the number of rows and columns of the board
+     * @param firstPlayer
+     *         the {@link Player}, that made the first move of the game and plays with 'X'
+     * @param cells
+     *         the {@link CellReader} of the board
+     * @return the string representation of the board
+     */
+    public static String print(int size, Player firstPlayer, CellReader cells) {
+        StringBuilder builder = new StringBuilder("\n");
+        String separator = "-".repeat(5 * size - 2) + "\n";
+
+        for (int i = 0; i < size; i++) {
+            for (int j = 0; j < size; j++) {
+                builder.append(formatCell(size, firstPlayer, cells.getPlayerAt(i, j), j));
+                if (j < size - 1) {
+                    builder.append(" ");
+                }
+            }
+            builder.append("\n");
+            if (i < size - 1) {
+                builder.append(separator);
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String formatCell(int size, Player firstPlayer, Player player, int j) {
+        if (player == null) {
+            return j < size - 1 ? "   |" : "   ";
+        }
+
+        boolean isFirstPlayer = firstPlayer.equals(player);
+        String symbol = (isFirstPlayer ? " X " : " O ");
+
+        return j < size - 1 ? symbol + "|" : symbol;
+    }
+
+    /**
+     * the caller should be prevented from constructing objects of this class
+     * by declaring this private constructor
+     */
+    private BoardPrinter() {
+
+        // this prevent even the native class from call in this ctor as well
+        throw new AssertionError();
+    }
+}
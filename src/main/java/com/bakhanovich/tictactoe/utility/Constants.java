@@ -12,6 +12,15 @@ public class Constants {
      */
     public static final String MOVE_NOT_ALLOWED = "This cell is already filled";
 
+    /** to use by the {@link IllegalMoveException}, if the cell cannot be packed by {@link Coordinates} */
+    public static final String MOVE_OUT_OF_RANGE = "This cell is too far from the origin";
+
+    /** to use by the {@link IllegalMoveException}, if there is no move to take back */
+    public static final String NOTHING_TO_UNDO = "There is no move to undo";
+
+    /** to use by the {@link IllegalMoveException}, if the move to take back is not the last one */
+    public static final String UNDO_NOT_ALLOWED = "Only the last move can be taken back";
+
     /** to catch {@link IllegalMoveException} */
     private final static String GAME_OVER = "Game over";
 
@@ -0,0 +1,100 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+/**
+ * Utility class. Packs the row and the column of a cell into one int, which is shared by
+ * the {@link PlayBoard} and the command layer. The row is stored in the upper 16 bits and
+ * the column in the lower 16 bits, both are signed, so the rows and the columns from
+ * {@link #MIN_VALUE} to {@link #MAX_VALUE} can be packed.
+ */
+public class Coordinates {
+    /** the packed value, that means that there is no coordinate */
+    public static final int NONE = Integer.MIN_VALUE;
+
+    /** the largest row or column, which can be packed */
+    public static final int MAX_VALUE = Short.MAX_VALUE;
+
+    /** the smallest row or column, which can be packed. The row {@link Short#MIN_VALUE} is reserved by {@link #NONE} */
+    public static final int MIN_VALUE = Short.MIN_VALUE + 1;
+
+    /** the packed coordinates of all cells of the board of the size {@link PlayBoard#SIZE} in row-major order */
+    private static final int[] BOARD_CELLS = new int[PlayBoard.SIZE * PlayBoard.SIZE];
+
+    static {
+        for (int i = 0; i < PlayBoard.SIZE; i++) {
+            for (int j = 0; j < PlayBoard.SIZE; j++) {
+                BOARD_CELLS[i * PlayBoard.SIZE + j] = pack(i, j);
+            }
+        }
+    }
+
+    /**
+     * Packs the row and the column into one int.
+     *
+     * @param row
+     *         the row
+     * @param col
+     *         the column
+     * @return the packed coordinate
+     */
+    public static int pack(int row, int col) {
+        return (row << 16) | (col & 0xFFFF);
+    }
+
+    /**
+     * Returns the row of the packed coordinate.
+     *
+     * @param coordinate
+     *         the packed coordinate
+     * @return the row
+     */
+    public static int row(int coordinate) {
+        return coordinate >> 16;
+    }
+
+    /**
+     * Returns the column of the packed coordinate.
+     *
+     * @param coordinate
+     *         the packed coordinate
+     * @return the column
+     */
+    public static int col(int coordinate) {
+        return (short) coordinate;
+    }
+
+    /**
+     * Checks whether the row and the column can be packed.
+     *
+     * @param row
+     *         the row
+     * @param col
+     *         the column
+     * @return true if both values are from {@link #MIN_VALUE} to {@link #MAX_VALUE}
+     */
+    public static boolean isPackable(int row, int col) {
+        return row >= MIN_VALUE && row <= MAX_VALUE && col >= MIN_VALUE && col <= MAX_VALUE;
+    }
+
+    /**
+     * Returns the precomputed packed coordinate of the cell of the board of the size {@link PlayBoard#SIZE}.
+     *
+     * @param index
+     *         the index of the cell in row-major order, from 0 to SIZE * SIZE - 1
+     * @return the packed coordinate
+     */
+    public static int boardCell(int index) {
+        return BOARD_CELLS[index];
+    }
+
+    /**
+     * the caller should be prevented from constructing objects of this class
+     * by declaring this private constructor
+     */
+    private Coordinates() {
+
+        // this prevent even the native class from call in this ctor as well
+        throw new AssertionError();
+    }
+}
@@ -0,0 +1,168 @@
+package com.bakhanovich.tictactoe.utility;
+
+import java.util.Arrays;
+
+/**
+ * A hash map from primitive long keys to non-zero byte values. The map uses open addressing with
+ * linear probing, stores the keys and the values in primitive arrays and does not box or allocate
+ * anything, except when the arrays grow. The value 0 means that there is no entry for the key.
+ */
+public class LongByteHashMap {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] keys;
+    private byte[] values;
+    private int mask;
+    private int size;
+
+    /**
+     * Constructs a new empty {@link LongByteHashMap}.
+     */
+    public LongByteHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs a new empty {@link LongByteHashMap}.
+     *
+     * @param expectedSize
+     *         the number of entries, which can be stored without growing the map
+     */
+    public LongByteHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new byte[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the value of the key.
+     *
+     * @param key
+     *         the key
+     * @return the value or 0 if there is no entry for the key
+     */
+    public byte get(long key) {
+        int slot = slot(key);
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Puts the value of the key.
+     *
+     * @param key
+     *         the key
+     * @param value
+     *         the value, must not be 0
+     * @return the previous value or 0 if there was no entry for the key
+     */
+    public byte put(long key, byte value) {
+        if (value == 0) {
+            throw new IllegalArgumentException("The value must not be 0");
+        }
+        int slot = slot(key);
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                byte previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+        return 0;
+    }
+
+    /**
+     * Removes the entry of the key. The entries behind the removed one are shifted back,
+     * so the map does not need deleted markers.
+     *
+     * @param key
+     *         the key
+     * @return the removed value or 0 if there was no entry for the key
+     */
+    public byte remove(long key) {
+        int slot = slot(key);
+        while (values[slot] != 0) {
+            if (keys[slot] == key) {
+                byte previous = values[slot];
+                shiftBack(slot);
+                size--;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * Removes all entries. The arrays are kept.
+     */
+    public void clear() {
+        Arrays.fill(values, (byte) 0);
+        size = 0;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    private void shiftBack(int free) {
+        int slot = (free + 1) & mask;
+        while (values[slot] != 0) {
+            int home = slot(keys[slot]);
+            // the entry can be moved to the free slot if its home is not between the free slot and the slot
+            if (((slot - home) & mask) >= ((slot - free) & mask)) {
+                keys[free] = keys[slot];
+                values[free] = values[slot];
+                free = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        values[free] = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        byte[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new byte[oldValues.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private int slot(long key) {
+        // the finalizer of MurmurHash3 spreads the packed coordinates over all bits
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
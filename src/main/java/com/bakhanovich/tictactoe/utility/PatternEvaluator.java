@@ -0,0 +1,211 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+import java.util.Arrays;
+
+/**
+ * The static evaluation of the k-in-a-row positions. Every segment of the win length on the rows, the
+ * columns and the diagonals of the board is a window, the tiles of the window are encoded as a base-3
+ * index: 0 is an empty cell, 1 is a tile of {@link Player#PLAYER1}, 2 is a tile of {@link Player#PLAYER2}.
+ * The value of the index is precomputed in the table of the patterns: the window, which contains the tiles
+ * of both players, cannot be completed and is worth nothing, otherwise the value grows with the number of
+ * the tiles of the player in the window (so an open three lies in several windows and is worth more than a
+ * closed one). The indices of the windows and the score are updated incrementally by the moves, only the
+ * windows through the cell of the move are touched.
+ */
+public class PatternEvaluator {
+    /** the largest win length, the table of which has 3 ^ MAX_WIN_LENGTH entries */
+    public static final int MAX_WIN_LENGTH = 9;
+    /** the bound of the absolute value of the score, which stays far below the score of a won game */
+    public static final int LIMIT = 100_000;
+    /** the value of the window with one tile, it is multiplied by 8 with every next tile */
+    private static final int SINGLE_TILE = 1;
+    private static final int GROWTH = 8;
+    /** the row and the column steps of the directions: horizontal, vertical, diagonal and anti-diagonal */
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    /** the tables of the patterns by the win length, are computed once and shared by all evaluators */
+    private static final int[][] TABLES = new int[MAX_WIN_LENGTH + 1][];
+
+    private final int size;
+    private final int winLength;
+    private final int[] powers;
+    private final int[] patterns;
+    /** the base-3 index of every window, by the direction and the first cell of the window */
+    private final int[] windows;
+    private int score;
+
+    /**
+     * Constructs the evaluator of the empty board.
+     *
+     * @param size
+     *         the number of rows and columns of the board
+     * @param winLength
+     *         the number of tiles in a row, which are needed to win, from 1 to {@link #MAX_WIN_LENGTH}
+     */
+    public PatternEvaluator(int size, int winLength) {
+        if (winLength < 1 || winLength > MAX_WIN_LENGTH || winLength > size) {
+            throw new IllegalArgumentException("The win length must be from 1 to " + MAX_WIN_LENGTH
+                    + " and not larger than the size of the board");
+        }
+        this.size = size;
+        this.winLength = winLength;
+        this.powers = new int[winLength];
+        int power = 1;
+        for (int i = 0; i < winLength; i++) {
+            powers[i] = power;
+            power *= 3;
+        }
+        this.patterns = tableOf(winLength);
+        this.windows = new int[DIRECTIONS.length * size * size];
+    }
+
+    /**
+     * Checks whether the board of the win length can be evaluated.
+     *
+     * @param winLength
+     *         the number of tiles in a row, which are needed to win
+     * @return true if the win length is from 1 to {@link #MAX_WIN_LENGTH}
+     */
+    public static boolean supports(int winLength) {
+        return winLength >= 1 && winLength <= MAX_WIN_LENGTH;
+    }
+
+    /**
+     * Computes the table of the patterns: the value of every base-3 index of the window from the view of
+     * {@link Player#PLAYER1}.
+     *
+     * @param winLength
+     *         the length of the window
+     * @return the values of the patterns, by the index
+     */
+    public static int[] patterns(int winLength) {
+        int count = 1;
+        for (int i = 0; i < winLength; i++) {
+            count *= 3;
+        }
+        int[] patterns = new int[count];
+        for (int index = 0; index < count; index++) {
+            int first = 0;
+            int second = 0;
+            for (int rest = index; rest > 0; rest /= 3) {
+                if (rest % 3 == 1) {
+                    first++;
+                } else if (rest % 3 == 2) {
+                    second++;
+                }
+            }
+            if (first == 0) {
+                patterns[index] = -valueOf(second);
+            } else if (second == 0) {
+                patterns[index] = valueOf(first);
+            }
+        }
+        return patterns;
+    }
+
+    private static synchronized int[] tableOf(int winLength) {
+        if (TABLES[winLength] == null) {
+            TABLES[winLength] = patterns(winLength);
+        }
+        return TABLES[winLength];
+    }
+
+    private static int valueOf(int tiles) {
+        int value = 0;
+        for (int i = 0; i < tiles; i++) {
+            value = value == 0 ? SINGLE_TILE : value * GROWTH;
+        }
+        return Math.min(value, LIMIT);
+    }
+
+    /**
+     * Evaluates the whole board without the incremental updates, is used to verify the evaluator.
+     *
+     * @param board
+     *         the square board, the win length of which is supported
+     * @return the score from the view of {@link Player#PLAYER1}
+     */
+    public static int evaluate(PlayBoard board) {
+        PatternEvaluator evaluator = new PatternEvaluator(board.getSize(), board.getWinLength());
+        for (int row = 0; row < board.getSize(); row++) {
+            for (int col = 0; col < board.getSize(); col++) {
+                Player player = board.getPlayerAt(row, col);
+                if (player != null) {
+                    evaluator.place(row, col, player);
+                }
+            }
+        }
+        return evaluator.getScore();
+    }
+
+    /**
+     * Updates the windows through the cell, on which the tile of the player is placed.
+     *
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @param player
+     *         the {@link Player}, whose tile is placed
+     */
+    public void place(int row, int col, Player player) {
+        update(row, col, player.ordinal() + 1);
+    }
+
+    /**
+     * Updates the windows through the cell, from which the tile of the player is removed.
+     *
+     * @param row
+     *         the row of the cell
+     * @param col
+     *         the column of the cell
+     * @param player
+     *         the {@link Player}, whose tile is removed
+     */
+    public void remove(int row, int col, Player player) {
+        update(row, col, -(player.ordinal() + 1));
+    }
+
+    /**
+     * Resets the evaluator to the empty board.
+     */
+    public void clear() {
+        Arrays.fill(windows, 0);
+        score = 0;
+    }
+
+    /**
+     * Gets the score of the position, the sum of the values of all windows.
+     *
+     * @return the score from the view of {@link Player#PLAYER1}, from -{@link #LIMIT} to {@link #LIMIT}
+     */
+    public int getScore() {
+        return Math.max(-LIMIT, Math.min(LIMIT, score));
+    }
+
+    private void update(int row, int col, int digit) {
+        for (int direction = 0; direction < DIRECTIONS.length; direction++) {
+            int rowStep = DIRECTIONS[direction][0];
+            int colStep = DIRECTIONS[direction][1];
+            // the cell is the i-th cell of the window, which starts i steps back
+            for (int i = 0; i < winLength; i++) {
+                int startRow = row - i * rowStep;
+                int startCol = col - i * colStep;
+                int endRow = startRow + (winLength - 1) * rowStep;
+                int endCol = startCol + (winLength - 1) * colStep;
+                if (startRow < 0 || startCol < 0 || startCol >= size
+                        || endRow >= size || endCol < 0 || endCol >= size) {
+                    continue;
+                }
+                int window = (direction * size + startRow) * size + startCol;
+                int index = windows[window];
+                score -= patterns[index];
+                index += digit * powers[i];
+                windows[window] = index;
+                score += patterns[index];
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+/**
+ * Utility class. Contains the 8 symmetries of the square board: the rotations by 0, 90, 180 and 270
+ * degrees and the same rotations of the board, which is mirrored left to right. The symmetric positions
+ * have the same value and the same best moves, so a cache of the positions stores only the canonical
+ * one of them and maps the moves back by the {@link #inverse(int) inverse} transform.
+ * The transform {@code t} mirrors the columns if {@code t >= 4} and rotates the board
+ * {@code t % 4} times by 90 degrees clockwise.
+ */
+public class Symmetry {
+    /** the number of the transforms */
+    public static final int TRANSFORMS = 8;
+    /** the transform, which leaves the board as it is */
+    public static final int IDENTITY = 0;
+
+    private static final int CELLS = PlayBoard.SIZE * PlayBoard.SIZE;
+    private static final int TRANSFORM_BITS = 3;
+
+    /** the inverse transforms by the transform */
+    private static final int[] INVERSE = new int[TRANSFORMS];
+    /** the transformed masks of the 3 x 3 board by the transform and the mask */
+    private static final int[][] MASKS = new int[TRANSFORMS][1 << CELLS];
+
+    static {
+        for (int t = 0; t < TRANSFORMS; t++) {
+            for (int inverse = 0; inverse < TRANSFORMS; inverse++) {
+                int coordinate = transform(inverse, transform(t, Coordinates.pack(0, 1), PlayBoard.SIZE), PlayBoard.SIZE);
+                int corner = transform(inverse, transform(t, Coordinates.pack(0, 0), PlayBoard.SIZE), PlayBoard.SIZE);
+                if (coordinate == Coordinates.pack(0, 1) && corner == Coordinates.pack(0, 0)) {
+                    INVERSE[t] = inverse;
+                }
+            }
+            int[] cellBits = new int[CELLS];
+            for (int cell = 0; cell < CELLS; cell++) {
+                int coordinate = transform(t, Coordinates.boardCell(cell), PlayBoard.SIZE);
+                cellBits[cell] = BitBoards.bit(Coordinates.row(coordinate), Coordinates.col(coordinate));
+            }
+            for (int mask = 1; mask < MASKS[t].length; mask++) {
+                MASKS[t][mask] = MASKS[t][mask & (mask - 1)] | cellBits[Integer.numberOfTrailingZeros(mask)];
+            }
+        }
+    }
+
+    /**
+     * Transforms the cell of the square board.
+     *
+     * @param transform
+     *         the transform from 0 to {@link #TRANSFORMS} - 1
+     * @param coordinate
+     *         the cell packed by {@link Coordinates#pack(int, int)}
+     * @param size
+     *         the number of rows and columns of the board
+     * @return the transformed cell packed by {@link Coordinates#pack(int, int)}
+     */
+    public static int transform(int transform, int coordinate, int size) {
+        int last = size - 1;
+        int row = Coordinates.row(coordinate);
+        int col = transform >= 4 ? last - Coordinates.col(coordinate) : Coordinates.col(coordinate);
+        switch (transform & 3) {
+            case 1:
+                return Coordinates.pack(col, last - row);
+            case 2:
+                return Coordinates.pack(last - row, last - col);
+            case 3:
+                return Coordinates.pack(last - col, row);
+            default:
+                return Coordinates.pack(row, col);
+        }
+    }
+
+    /**
+     * Returns the transform, which maps the transformed cells back.
+     *
+     * @param transform
+     *         the transform from 0 to {@link #TRANSFORMS} - 1
+     * @return the inverse transform
+     */
+    public static int inverse(int transform) {
+        return INVERSE[transform];
+    }
+
+    /**
+     * Transforms the mask of the tiles of the 3 x 3 board, see {@link BitBoards}.
+     *
+     * @param transform
+     *         the transform from 0 to {@link #TRANSFORMS} - 1
+     * @param tiles
+     *         the mask of the tiles
+     * @return the transformed mask
+     */
+    public static int transformMask(int transform, int tiles) {
+        return MASKS[transform][tiles];
+    }
+
+    /**
+     * Finds the canonical position of the 3 x 3 board: the transformed position with the smallest
+     * code {@code firstPlayerTiles | secondPlayerTiles << 9}.
+     *
+     * @param firstPlayerTiles
+     *         the mask of the tiles of {@link Player#PLAYER1}
+     * @param secondPlayerTiles
+     *         the mask of the tiles of {@link Player#PLAYER2}
+     * @return the code of the canonical position shifted left by 3 bits and the transform, which
+     *         gives the canonical position, in the lowest 3 bits. See {@link #codeOf(int)} and
+     *         {@link #transformOf(int)}
+     */
+    public static int canonical(int firstPlayerTiles, int secondPlayerTiles) {
+        int best = Integer.MAX_VALUE;
+        for (int t = 0; t < TRANSFORMS; t++) {
+            int code = MASKS[t][firstPlayerTiles] | MASKS[t][secondPlayerTiles] << CELLS;
+            int candidate = code << TRANSFORM_BITS | t;
+            if (candidate < best) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns the code of the canonical position, which is found by {@link #canonical(int, int)}.
+     *
+     * @param canonical
+     *         the result of {@link #canonical(int, int)}
+     * @return the code {@code firstPlayerTiles | secondPlayerTiles << 9}
+     */
+    public static int codeOf(int canonical) {
+        return canonical >>> TRANSFORM_BITS;
+    }
+
+    /**
+     * Returns the transform, which gives the canonical position found by {@link #canonical(int, int)}.
+     *
+     * @param canonical
+     *         the result of {@link #canonical(int, int)}
+     * @return the transform
+     */
+    public static int transformOf(int canonical) {
+        return canonical & (TRANSFORMS - 1);
+    }
+
+    /**
+     * Finds the transform, which gives the canonical position of the square board: the transformed
+     * position with the smallest Zobrist hash, see {@link #hash(PlayBoard, int)}.
+     *
+     * @param board
+     *         the board, the size of which is positive
+     * @return the transform
+     */
+    public static int canonicalTransform(PlayBoard board) {
+        long[] keys = Zobrist.keys(board.getSize());
+        int bestTransform = IDENTITY;
+        long bestHash = hash(board, IDENTITY, keys);
+        for (int t = 1; t < TRANSFORMS; t++) {
+            long hash = hash(board, t, keys);
+            if (Long.compareUnsigned(hash, bestHash) < 0) {
+                bestHash = hash;
+                bestTransform = t;
+            }
+        }
+        return bestTransform;
+    }
+
+    /**
+     * Computes the Zobrist hash of the transformed position of the square board. The hash of the
+     * {@link #IDENTITY} transform equals {@link PlayBoard#getPositionHash()}.
+     *
+     * @param board
+     *         the board, the size of which is positive
+     * @param transform
+     *         the transform from 0 to {@link #TRANSFORMS} - 1
+     * @return the hash
+     */
+    public static long hash(PlayBoard board, int transform) {
+        return hash(board, transform, Zobrist.keys(board.getSize()));
+    }
+
+    private static long hash(PlayBoard board, int transform, long[] keys) {
+        int size = board.getSize();
+        long hash = board.getCurrentPlayer() == Player.PLAYER2 ? Zobrist.PLAYER2_TO_MOVE : 0;
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) {
+                Player player = board.getPlayerAt(row, col);
+                if (player != null) {
+                    int coordinate = transform(transform, Coordinates.pack(row, col), size);
+                    int cell = Coordinates.row(coordinate) * size + Coordinates.col(coordinate);
+                    hash ^= keys[2 * cell + player.ordinal()];
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * the caller should be prevented from constructing objects of this class
+     * by declaring this private constructor
+     */
+    private Symmetry() {
+
+        // this prevent even the native class from call in this ctor as well
+        throw new AssertionError();
+    }
+}
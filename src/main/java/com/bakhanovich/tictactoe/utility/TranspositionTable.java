@@ -0,0 +1,211 @@
+package com.bakhanovich.tictactoe.utility;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A fixed-size transposition table of the search: the results of the searched positions by their
+ * 64-bit Zobrist hashes. The table is preallocated in two primitive arrays and is shared by the search
+ * threads without locks. The entry is stored as the data and the key XOR the data, so the entry, which
+ * is torn by the concurrent writes, does not verify and is read as a miss. A new entry replaces the
+ * stored one, if it is searched at least as deep or belongs to the same position.
+ * The data packs the score (bits 0-31), the depth (bits 32-39), the bound (bits 40-41) and the
+ * move (bits 42-57), see {@link #pack(int, int, int, int)}. The data of the entry is never 0.
+ */
+public class TranspositionTable {
+    /** the number of the entries of the default table */
+    public static final int DEFAULT_ENTRIES = 1 << 16;
+
+    /** the score is the exact value of the position */
+    public static final int EXACT = 1;
+    /** the score is the lower bound of the value: the search failed high */
+    public static final int LOWER = 2;
+    /** the score is the upper bound of the value: the search failed low */
+    public static final int UPPER = 3;
+    /** the move of the entry, which has no move */
+    public static final int NO_MOVE = 0xFFFF;
+
+    private static final int DEPTH_SHIFT = 32;
+    private static final int BOUND_SHIFT = 40;
+    private static final int MOVE_SHIFT = 42;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder collisions = new LongAdder();
+
+    /**
+     * Constructs a new {@link TranspositionTable} of {@link #DEFAULT_ENTRIES} entries.
+     */
+    public TranspositionTable() {
+        this(DEFAULT_ENTRIES);
+    }
+
+    /**
+     * Constructs a new {@link TranspositionTable}.
+     *
+     * @param entries
+     *         the number of the entries, is rounded up to the power of two
+     */
+    public TranspositionTable(int entries) {
+        if (entries < 1 || entries > 1 << 30) {
+            throw new IllegalArgumentException("The number of the entries must be from 1 to 2^30");
+        }
+        int capacity = entries == 1 ? 1 : Integer.highestOneBit(entries - 1) << 1;
+        keys = new long[capacity];
+        data = new long[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Packs the result of the search into the data of the entry.
+     *
+     * @param score
+     *         the score of the position
+     * @param depth
+     *         the depth of the search from 0 to 255
+     * @param bound
+     *         {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     * @param move
+     *         the index of the cell of the best move from 0 to 65534 or {@link #NO_MOVE}
+     * @return the data
+     */
+    public static long pack(int score, int depth, int bound, int move) {
+        return (score & 0xFFFFFFFFL) | (long) depth << DEPTH_SHIFT | (long) bound << BOUND_SHIFT
+                | (long) move << MOVE_SHIFT;
+    }
+
+    /**
+     * Returns the score of the data.
+     *
+     * @param data
+     *         the data of the entry
+     * @return the score
+     */
+    public static int score(long data) {
+        return (int) data;
+    }
+
+    /**
+     * Returns the depth of the data.
+     *
+     * @param data
+     *         the data of the entry
+     * @return the depth
+     */
+    public static int depth(long data) {
+        return (int) (data >>> DEPTH_SHIFT) & 0xFF;
+    }
+
+    /**
+     * Returns the bound of the data.
+     *
+     * @param data
+     *         the data of the entry
+     * @return {@link #EXACT}, {@link #LOWER} or {@link #UPPER}
+     */
+    public static int bound(long data) {
+        return (int) (data >>> BOUND_SHIFT) & 0x03;
+    }
+
+    /**
+     * Returns the move of the data.
+     *
+     * @param data
+     *         the data of the entry
+     * @return the index of the cell or {@link #NO_MOVE}
+     */
+    public static int move(long data) {
+        return (int) (data >>> MOVE_SHIFT) & 0xFFFF;
+    }
+
+    /**
+     * Returns the data of the position.
+     *
+     * @param key
+     *         the Zobrist hash of the position
+     * @return the data or 0 if the position is not stored
+     */
+    public long probe(long key) {
+        int slot = (int) key & mask;
+        long storedData = data[slot];
+        long storedKey = keys[slot];
+        if (storedData != 0 && (storedKey ^ storedData) == key) {
+            hits.increment();
+            return storedData;
+        }
+        misses.increment();
+        if (storedData != 0) {
+            collisions.increment();
+        }
+        return 0;
+    }
+
+    /**
+     * Stores the data of the position. The stored entry of another position is replaced only if
+     * it is searched less deep.
+     *
+     * @param key
+     *         the Zobrist hash of the position
+     * @param entryData
+     *         the data packed by {@link #pack(int, int, int, int)}
+     */
+    public void store(long key, long entryData) {
+        int slot = (int) key & mask;
+        long storedData = data[slot];
+        if (storedData != 0 && (keys[slot] ^ storedData) != key && depth(storedData) > depth(entryData)) {
+            return;
+        }
+        data[slot] = entryData;
+        keys[slot] = key ^ entryData;
+    }
+
+    /**
+     * Removes all entries and resets the counters.
+     */
+    public void clear() {
+        Arrays.fill(keys, 0);
+        Arrays.fill(data, 0);
+        hits.reset();
+        misses.reset();
+        collisions.reset();
+    }
+
+    /**
+     * Returns the number of the entries.
+     *
+     * @return the capacity of the table
+     */
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * Returns the number of the probes, which found the position.
+     *
+     * @return the number of the hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of the probes, which did not find the position.
+     *
+     * @return the number of the misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of the misses, by which the slot held another position.
+     *
+     * @return the number of the collisions
+     */
+    public long getCollisions() {
+        return collisions.sum();
+    }
+}
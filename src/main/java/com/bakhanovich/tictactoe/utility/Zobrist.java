@@ -0,0 +1,87 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+
+import java.util.SplittableRandom;
+
+/**
+ * Utility class. Contains the keys of the Zobrist hashing of the {@link PlayBoard}. The hash of
+ * a position is the XOR of the keys of all tiles, so a move or an undo updates the hash by one XOR.
+ * The keys are generated from a fixed seed, therefore the hashes are the same in every run and
+ * the boards of the same size have the same keys.
+ */
+public class Zobrist {
+    /** the key, which is added to the hash if {@link Player#PLAYER2} makes the next move */
+    public static final long PLAYER2_TO_MOVE;
+
+    private static final long SEED = 0x5DEECE66DL;
+    private static final int CACHED_CELLS = 32 * 32;
+    private static final long[] KEYS;
+
+    static {
+        SplittableRandom random = new SplittableRandom(SEED);
+        PLAYER2_TO_MOVE = random.nextLong();
+        KEYS = new long[2 * CACHED_CELLS];
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = random.nextLong();
+        }
+    }
+
+    /**
+     * Returns the keys of the tiles of the square board. The key of the tile of the {@link Player}
+     * on the cell with the index {@code row * size + col} is at {@code 2 * index + player.ordinal()}.
+     *
+     * @param size
+     *         the number of rows and columns of the board
+     * @return the keys of the board
+     */
+    public static long[] keys(int size) {
+        int cells = size * size;
+        if (cells <= CACHED_CELLS) {
+            long[] keys = new long[2 * cells];
+            System.arraycopy(KEYS, 0, keys, 0, keys.length);
+            return keys;
+        }
+        long[] keys = new long[2 * cells];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = mix(SEED + i);
+        }
+        return keys;
+    }
+
+    /**
+     * Returns the key of the tile on the board without limits.
+     *
+     * @param row
+     *         the row of the tile
+     * @param col
+     *         the column of the tile
+     * @param player
+     *         the {@link Player} of the tile
+     * @return the key of the tile
+     */
+    public static long key(int row, int col, Player player) {
+        return mix((((long) row << 32) | (col & 0xFFFFFFFFL)) * 2 + player.ordinal());
+    }
+
+    /**
+     * The finalizer of SplitMix64: spreads the bits of the value over the whole long.
+     */
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * the caller should be prevented from constructing objects of this class
+     * by declaring this private constructor
+     */
+    private Zobrist() {
+
+        // this prevent even the native class from call in this ctor as well
+        throw new AssertionError();
+    }
+}
@@ -6,6 +6,7 @@ import com.bakhanovich.tictactoe.service.PlayBoard;
 
 import com.bakhanovich.tictactoe.service.impl.PlayBoardImpl;
 import com.bakhanovich.tictactoe.utility.Constants;
+import com.bakhanovich.tictactoe.utility.Coordinates;
 import com.github.stefanbirkner.systemlambda.SystemLambda;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -154,6 +155,102 @@ class TictactoeApplicationTests {
 		verify(playBoard, times(1)).getStatistics();
 	}
 
+	@Test
+	void testRun_UndoQuit_void() throws Exception {
+		// given
+		when(scanner.nextLine()).thenReturn("\n","undo", "quit");
+		when(playBoard.getFirstPlayer()).thenReturn(Player.PLAYER1);
+		when(playBoard.getCurrentPlayer()).thenReturn(Player.PLAYER1);
+
+		// when
+		tictactoeApplication.run();
+
+		// then
+		verify(playBoard, times(1)).undo();
+		verify(playBoard, times(6)).getCurrentPlayer();
+		verify(playBoard, times(1)).isGameOver();
+	}
+
+	@Test
+	void testRun_UQNothingToUndo_void() throws Exception {
+		// given
+		when(scanner.nextLine()).thenReturn("\n","u", "q");
+		doThrow(new IllegalMoveException(Constants.NOTHING_TO_UNDO)).when(playBoard).undo();
+		when(playBoard.getFirstPlayer()).thenReturn(Player.PLAYER1);
+		when(playBoard.getCurrentPlayer()).thenReturn(Player.PLAYER1);
+
+		// when
+		String systemOut = SystemLambda.tapSystemOut(() -> tictactoeApplication.run());
+
+		// then
+		verify(playBoard, times(1)).undo();
+		assertTrue(systemOut.contains(Constants.NOTHING_TO_UNDO));
+	}
+
+	@Test
+	void testRun_MoveQuitAgainstComputer_void() throws Exception {
+		// given
+		PlayBoard board = new PlayBoardImpl();
+		when(scanner.nextLine()).thenReturn("\n", "m 2 2", "\n", "q");
+		TictactoeApplication application = new TictactoeApplication(board, scanner, Player.PLAYER2);
+
+		// when
+		String systemOut = SystemLambda.tapSystemOut(() -> application.run());
+
+		// then
+		assertEquals(Player.PLAYER1, board.getPlayerAt(1, 1));
+		assertEquals(Player.PLAYER2, board.getPlayerAt(0, 0));
+		assertEquals(Player.PLAYER1, board.getCurrentPlayer());
+		assertTrue(systemOut.contains("PLAYER2 (computer) moves to (1,1)"));
+	}
+
+	@Test
+	void testRun_Quit_CancelsSearch() throws Exception {
+		// given
+		when(scanner.nextLine()).thenReturn("\n", "q");
+		when(playBoard.getFirstPlayer()).thenReturn(Player.PLAYER1);
+		when(playBoard.getCurrentPlayer()).thenReturn(Player.PLAYER1);
+
+		// when
+		tictactoeApplication.run();
+
+		// then
+		verify(playBoard, times(1)).cancel();
+	}
+
+	@Test
+	void testRun_UndoAgainstComputer_TakesBackBothMoves() throws Exception {
+		// given
+		PlayBoard board = new PlayBoardImpl();
+		when(scanner.nextLine()).thenReturn("\n", "m 2 2", "\n", "u", "\n", "q");
+		TictactoeApplication application = new TictactoeApplication(board, scanner, Player.PLAYER2);
+
+		// when
+		SystemLambda.tapSystemOut(() -> application.run());
+
+		// then
+		assertEquals(0, board.getHistorySize());
+		assertNull(board.getPlayerAt(1, 1));
+		assertEquals(Player.PLAYER1, board.getCurrentPlayer());
+	}
+
+	@Test
+	void testRun_HintQuit_void() throws Exception {
+		// given
+		when(scanner.nextLine()).thenReturn("\n", "hint", "\n", "q");
+		when(playBoard.getFirstPlayer()).thenReturn(Player.PLAYER1);
+		when(playBoard.getCurrentPlayer()).thenReturn(Player.PLAYER1);
+		when(playBoard.bestMove()).thenReturn(Coordinates.pack(1, 1));
+
+		// when
+		String systemOut = SystemLambda.tapSystemOut(() -> tictactoeApplication.run());
+
+		// then
+		verify(playBoard, times(1)).bestMove();
+		verify(playBoard, never()).move(anyInt(), anyInt());
+		assertTrue(systemOut.contains("The best move of PLAYER1 is (2,2)"));
+	}
+
 	@Test
 	public void testPrintQuit() throws Exception {
 		when(scanner.nextLine()).thenReturn("\n","p", "q");
@@ -238,7 +335,7 @@ class TictactoeApplicationTests {
 		tictactoeApplication.run();
 
 		// then
-		verify(playBoard, times(8)).getCurrentPlayer();
+		verify(playBoard, times(6)).getCurrentPlayer();
 		verify(playBoard, times(1)).isGameOver();
 	}
 
@@ -260,7 +357,7 @@ class TictactoeApplicationTests {
 		// then
 //		verify(playBoard, times(1)).clearBoard();
 		verify(playBoard, times(1)).move(1, 1);
-		verify(playBoard, times(9)).getCurrentPlayer();
+		verify(playBoard, times(7)).getCurrentPlayer();
 		verify(playBoard, times(3)).isGameOver();
 	}
 
@@ -282,7 +379,7 @@ class TictactoeApplicationTests {
 		// then
 //		verify(playBoard, times(1)).clearBoard();
 		verify(playBoard, times(1)).move(1, 1);
-		verify(playBoard, times(8)).getCurrentPlayer();
+		verify(playBoard, times(6)).getCurrentPlayer();
 		verify(playBoard, times(1)).isGameOver();
 	}
 
@@ -303,7 +400,7 @@ class TictactoeApplicationTests {
 		// then
 //		verify(playBoard, times(1)).clearBoard();
 		verify(playBoard, times(1)).move(1, 1);
-		verify(playBoard, times(8)).getCurrentPlayer();
+		verify(playBoard, times(6)).getCurrentPlayer();
 		verify(playBoard, times(2)).isGameOver();
 	}
 
@@ -324,7 +421,7 @@ class TictactoeApplicationTests {
 		// then
 //		verify(playBoard, times(1)).clearBoard();
 		verify(playBoard, times(1)).move(1, 1);
-		verify(playBoard, times(8)).getCurrentPlayer();
+		verify(playBoard, times(6)).getCurrentPlayer();
 		verify(playBoard, times(2)).isGameOver();
 	}
 
@@ -345,7 +442,7 @@ class TictactoeApplicationTests {
 
 		// then
 		verify(playBoard, times(1)).move(1, 1);
-		verify(playBoard, times(9)).getCurrentPlayer();
+		verify(playBoard, times(7)).getCurrentPlayer();
 		verify(playBoard, times(3)).isGameOver();
 	}
 
@@ -405,7 +502,7 @@ class TictactoeApplicationTests {
 		tictactoeApplication.run();
 
 		// then
-		verify(playBoard, times(9)).getCurrentPlayer();
+		verify(playBoard, times(7)).getCurrentPlayer();
 		verify(playBoard, times(3)).isGameOver();
 	}
 
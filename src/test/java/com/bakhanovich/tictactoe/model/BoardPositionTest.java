@@ -0,0 +1,96 @@
+package com.bakhanovich.tictactoe.model;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.service.impl.PlayBoardImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardPositionTest {
+
+    @Test
+    void move_ifMoveIsLegal_ThisIsNotChanged() throws IllegalMoveException {
+        // given
+        BoardPosition position = BoardPosition.EMPTY;
+
+        // when
+        BoardPosition next = position.move(1, 1);
+
+        // then
+        assertNotSame(position, next);
+        assertNull(position.getPlayerAt(1, 1));
+        assertEquals(Player.PLAYER1, next.getPlayerAt(1, 1));
+        assertEquals(Player.PLAYER1, position.getCurrentPlayer());
+        assertEquals(Player.PLAYER2, next.getCurrentPlayer());
+    }
+
+    @Test
+    void move_ifSamePositionReachedTwice_PositionsAreEqual() throws IllegalMoveException {
+        // given
+
+        // when
+        BoardPosition first = BoardPosition.EMPTY.move(0, 0).move(1, 1).move(2, 2);
+        BoardPosition second = BoardPosition.EMPTY.move(2, 2).move(1, 1).move(0, 0);
+
+        // then
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+    }
+
+    @Test
+    void move_ifWinningCombination_GameIsOver() throws IllegalMoveException {
+        // given
+        BoardPosition position = BoardPosition.EMPTY
+                .move(0, 0).move(1, 0)
+                .move(0, 1).move(1, 1);
+        assertFalse(position.isGameOver());
+
+        // when
+        BoardPosition won = position.move(0, 2);
+
+        // then
+        assertTrue(won.isGameOver());
+        assertEquals(Player.PLAYER1, won.getWinner());
+        assertThrows(IllegalMoveException.class, () -> won.move(2, 2));
+    }
+
+    @Test
+    void move_ifCellIsOccupied_Throws() throws IllegalMoveException {
+        // given
+        BoardPosition position = BoardPosition.EMPTY.move(0, 2);
+
+        // when then
+        assertThrows(IllegalMoveException.class, () -> position.move(0, 2));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"-1, 0","3, 0","0, -1", "0, 3"})
+    void move_ifOutOfBound_Throws(int row, int col) {
+        // given
+
+        // when then
+        assertThrows(IllegalArgumentException.class, () -> BoardPosition.EMPTY.move(row, col));
+    }
+
+    @Test
+    void of_ifBoardWithMoves_SameStateAndString() throws IllegalMoveException {
+        // given
+        PlayBoardImpl playBoard = new PlayBoardImpl();
+        playBoard.setFirstPlayer(Player.PLAYER2);
+        playBoard.move(1, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 0);
+
+        // when
+        BoardPosition position = BoardPosition.of(playBoard);
+
+        // then
+        assertEquals(Player.PLAYER2, position.getCurrentPlayer());
+        assertEquals(Player.PLAYER2, position.getFirstPlayer());
+        assertEquals(Player.PLAYER1, position.getPlayerAt(1, 1));
+        assertEquals(Player.PLAYER2, position.getPlayerAt(0, 0));
+        assertEquals(playBoard.toString(), position.toString());
+    }
+}
@@ -0,0 +1,214 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitBoardPlayBoardImplTest {
+    BitBoardPlayBoardImpl playBoard;
+
+    @BeforeEach
+    void setUp(){
+        playBoard = new BitBoardPlayBoardImpl();
+    }
+
+    @Test
+    void getWinner_ifGetAfterInit_ReturnsNull(){
+        // given
+
+        // when
+        Player winner = playBoard.getWinner();
+        // then
+        assertNull(winner);
+    }
+
+    @Test
+    void isGameOver_ifBoardFilled_ReturnsTrue() throws IllegalMoveException {
+        // given
+        for (int i = 0; i < 3; i++) {
+            for(int j = 0; j < 3; j++) {
+                playBoard.move(i, j);
+            }
+        }
+
+        // when
+        boolean isGameOver = playBoard.isGameOver();
+        // then
+        assertTrue(isGameOver);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"1","2","0"})
+    void isGameOver_ifWinningCombinationVerticalCurrentIsPlayer2_ReturnsTrue(int col) throws IllegalMoveException {
+        // given
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, col);
+        playBoard.move(1, col);
+        playBoard.move(2, col);
+
+        // when
+        boolean isGameOver = playBoard.isGameOver();
+        // then
+        assertTrue(isGameOver);
+        assertEquals(Player.PLAYER2, playBoard.getWinner());
+        assertEquals(1, playBoard.getStats().getSecondPlayerWins());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"1","2","0"})
+    void isGameOver_ifWinningCombinationHorisontalCurrentIsPlayer1_ReturnsTrue(int row) throws IllegalMoveException {
+        // given
+        playBoard.move(row, 0);
+        playBoard.move(row, 1);
+        playBoard.move(row, 2);
+
+        // when
+        boolean isGameOver = playBoard.isGameOver();
+        // then
+        assertTrue(isGameOver);
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+    }
+
+    @Test
+    void isGameOver_ifWinningCombinationDiagonals_ReturnsTrue() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 2);
+        playBoard.move(1, 1);
+        playBoard.move(2, 0);
+
+        // when
+        boolean isGameOver = playBoard.isGameOver();
+        // then
+        assertTrue(isGameOver);
+    }
+
+    @Test
+    void isGameOver_ifTieGame_ReturnsTrue() throws IllegalMoveException {
+        // given
+        playBoard.move(1,1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        playBoard.move(0,0);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(2,2);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        playBoard.move(0,2);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(2,0);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        playBoard.move(2,1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(1,2);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        playBoard.move(1,0);
+
+        // when
+        boolean isGameOver = playBoard.isGameOver();
+        // then
+        assertTrue(isGameOver);
+        assertNull(playBoard.getWinner());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"-1, 0","3, 0","0, -1", "0, 3"})
+    void move_ifOutOfBound_Throws(int row, int col) {
+        // given
+
+        // when then
+        assertThrows(IllegalArgumentException.class,
+                ()->{playBoard.move(row, col);});
+    }
+
+    @Test
+    void move_ifCurrentCellIsNotNull_Throws() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 2);
+
+        // when then
+        assertThrows(IllegalMoveException.class,
+                ()->{playBoard.move(0, 2);});
+    }
+
+    @Test
+    void clearBoard_ifBoardWasFilled_BoardIsClear() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 2);
+        assertNotEquals(0, playBoard.getFirstPlayerTiles());
+
+        // when
+        playBoard.clearBoard();
+
+        // then
+        assertEquals(0, playBoard.getFirstPlayerTiles());
+        assertEquals(0, playBoard.getSecondPlayerTiles());
+    }
+
+    @Test
+    void toString_afterTwoMoves_SameAsPlayBoardImpl() throws IllegalMoveException {
+        // given
+        PlayBoardImpl expected = new PlayBoardImpl();
+        expected.move(1, 1);
+        expected.setCurrentPlayer(Player.PLAYER2);
+        expected.move(0, 0);
+        playBoard.move(1, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 0);
+
+        // when
+        String toString = playBoard.toString();
+
+        // then
+        assertEquals(expected.toString(), toString);
+    }
+
+    @Test
+    void getPositionHash_ifSameMovesOnAll3x3Boards_HashesAreEqual() throws IllegalMoveException {
+        // given
+        PlayBoardImpl tileBoard = new PlayBoardImpl();
+        KInARowPlayBoardImpl kInARowBoard = new KInARowPlayBoardImpl(3, 3);
+        for (PlayBoard board : new PlayBoard[]{playBoard, tileBoard, kInARowBoard}) {
+            board.move(1, 1);
+            board.setCurrentPlayer(Player.PLAYER2);
+            board.move(0, 2);
+        }
+
+        // when
+        long hash = playBoard.getPositionHash();
+
+        // then
+        assertEquals(tileBoard.getPositionHash(), hash);
+        assertEquals(kInARowBoard.getPositionHash(), hash);
+    }
+
+    @Test
+    void undo_ifWinningMove_StateBeforeMoveIsRestored() throws IllegalMoveException {
+        // given
+        int winLength = playBoard.getWinLength();
+        for (int k = 0; k < winLength - 1; k++) {
+            playBoard.move(1, k);
+        }
+        long hashBefore = playBoard.getPositionHash();
+        String stringBefore = playBoard.toString();
+        playBoard.move(1, winLength - 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+
+        // when
+        playBoard.undo();
+
+        // then
+        assertNull(playBoard.getWinner());
+        assertFalse(playBoard.isGameOver());
+        assertEquals(Player.PLAYER1, playBoard.getCurrentPlayer());
+        assertEquals(0, playBoard.getStats().getFirstPlayerWins());
+        assertEquals(hashBefore, playBoard.getPositionHash());
+        assertEquals(stringBefore, playBoard.toString());
+    }
+}
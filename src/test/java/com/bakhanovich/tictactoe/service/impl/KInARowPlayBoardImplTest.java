@@ -0,0 +1,201 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KInARowPlayBoardImplTest {
+    KInARowPlayBoardImpl playBoard;
+
+    @BeforeEach
+    void setUp(){
+        playBoard = new KInARowPlayBoardImpl(15, 5);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"0, 1", "1, 0", "1, 1", "1, -1"})
+    void isGameOver_ifFiveInARow_ReturnsTrue(int rowStep, int colStep) throws IllegalMoveException {
+        // given
+        // the last tile is placed in the middle of the run
+        int[] order = {0, 1, 3, 4, 2};
+        for (int k = 0; k < order.length - 1; k++) {
+            playBoard.move(7 + order[k] * rowStep, 7 + order[k] * colStep);
+        }
+        assertFalse(playBoard.isGameOver());
+
+        // when
+        playBoard.move(7 + order[4] * rowStep, 7 + order[4] * colStep);
+
+        // then
+        assertTrue(playBoard.isGameOver());
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+        assertEquals(1, playBoard.getStats().getFirstPlayerWins());
+    }
+
+    @Test
+    void isGameOver_ifRunIsInterruptedByOpponent_ReturnsFalse() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 0);
+        playBoard.move(0, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 2);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+
+        // when
+        playBoard.move(0, 3);
+        playBoard.move(0, 4);
+        playBoard.move(0, 5);
+
+        // then
+        assertFalse(playBoard.isGameOver());
+        assertNull(playBoard.getWinner());
+    }
+
+    @Test
+    void isGameOver_ifBoardFilledWithoutRun_ReturnsTrue() throws IllegalMoveException {
+        // given
+        playBoard = new KInARowPlayBoardImpl(2, 2);
+        playBoard.move(0, 0);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 1);
+        playBoard.move(1, 0);
+        assertTrue(playBoard.isGameOver());
+        assertEquals(Player.PLAYER2, playBoard.getWinner());
+
+        // when
+        playBoard.clearBoard();
+
+        // then
+        assertFalse(playBoard.isGameOver());
+        assertNull(playBoard.getWinner());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"-1, 0","15, 0","0, -1", "0, 15"})
+    void move_ifOutOfBound_Throws(int row, int col) {
+        // given
+
+        // when then
+        assertThrows(IllegalArgumentException.class,
+                ()->{playBoard.move(row, col);});
+    }
+
+    @Test
+    void move_ifCurrentCellIsNotNull_Throws() throws IllegalMoveException {
+        // given
+        playBoard.move(14, 14);
+
+        // when then
+        assertThrows(IllegalMoveException.class,
+                ()->{playBoard.move(14, 14);});
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"3, 4", "0, 1", "3, 0"})
+    void constructor_ifWinLengthIsInvalid_Throws(int size, int winLength) {
+        // given
+
+        // when then
+        assertThrows(IllegalArgumentException.class,
+                ()->{new KInARowPlayBoardImpl(size, winLength);});
+    }
+
+    @Test
+    void toString_ifSizeIs3_SameAsPlayBoardImpl() throws IllegalMoveException {
+        // given
+        playBoard = new KInARowPlayBoardImpl(3, 3);
+        PlayBoardImpl expected = new PlayBoardImpl();
+        expected.move(1, 1);
+        expected.setCurrentPlayer(Player.PLAYER2);
+        expected.move(0, 0);
+        playBoard.move(1, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 0);
+
+        // when
+        String toString = playBoard.toString();
+
+        // then
+        assertEquals(expected.toString(), toString);
+    }
+
+    @Test
+    void toString_ifSizeIs4_void() throws IllegalMoveException {
+        // given
+        playBoard = new KInARowPlayBoardImpl(4, 3);
+        playBoard.move(0, 3);
+        String expectedOutput = "\n" +
+                "   |    |    |  X \n" +
+                "------------------\n" +
+                "   |    |    |    \n" +
+                "------------------\n" +
+                "   |    |    |    \n" +
+                "------------------\n" +
+                "   |    |    |    \n";
+
+        // when
+        String toString = playBoard.toString();
+
+        // then
+        assertEquals(expectedOutput, toString);
+    }
+
+    @Test
+    void undo_ifWinningMove_StateBeforeMoveIsRestored() throws IllegalMoveException {
+        // given
+        int winLength = playBoard.getWinLength();
+        for (int k = 0; k < winLength - 1; k++) {
+            playBoard.move(1, k);
+        }
+        long hashBefore = playBoard.getPositionHash();
+        String stringBefore = playBoard.toString();
+        playBoard.move(1, winLength - 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+
+        // when
+        playBoard.undo();
+
+        // then
+        assertNull(playBoard.getWinner());
+        assertFalse(playBoard.isGameOver());
+        assertEquals(Player.PLAYER1, playBoard.getCurrentPlayer());
+        assertEquals(0, playBoard.getStats().getFirstPlayerWins());
+        assertEquals(hashBefore, playBoard.getPositionHash());
+        assertEquals(stringBefore, playBoard.toString());
+    }
+
+    @Test
+    void getEngine_ifNoEngineIsSet_CreatesMinimaxEngineOnce() {
+        // when
+        var engine = playBoard.getEngine();
+
+        // then
+        assertInstanceOf(MinimaxEngine.class, engine);
+        assertSame(engine, playBoard.getEngine());
+    }
+
+    @Test
+    void bestMove_ifEngineIsSetBeforeFirstSearch_UsesIt() throws IllegalMoveException {
+        // given
+        var engine = new ParallelSearchEngine(2);
+        playBoard = new KInARowPlayBoardImpl(3, 3);
+        playBoard.setEngine(engine);
+        playBoard.move(0, 0);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+
+        // when
+        int move = playBoard.bestMove();
+
+        // then
+        assertSame(engine, playBoard.getEngine());
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move),
+                Coordinates.col(move)));
+    }
+}
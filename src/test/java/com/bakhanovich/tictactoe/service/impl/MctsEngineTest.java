@@ -0,0 +1,141 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MctsEngineTest {
+    ForkJoinPool pool;
+    MctsEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(2);
+        engine = new MctsEngine(Duration.ofMillis(200), pool, 2, 1 << 16, 42);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void bestMove_ifWinInOne_ReturnsWinningMove() throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new PlayBoardImpl();
+        playBoard.move(0, 0);
+        playBoard.move(1, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 1);
+        playBoard.move(2, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        assertEquals(Coordinates.pack(2, 2), move);
+    }
+
+    @Test
+    void bestMove_ifOpponentWinsInOne_ReturnsBlockingMove() throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new BitBoardPlayBoardImpl();
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 0);
+        playBoard.move(0, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        playBoard.move(1, 1);
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        assertEquals(Coordinates.pack(0, 2), move);
+    }
+
+    @Test
+    void bestMove_ifKInARowWinInOne_ReturnsWinningMove() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(9, 4);
+        for (int col = 2; col < 5; col++) {
+            playBoard.setCurrentPlayer(Player.PLAYER1);
+            playBoard.move(4, col);
+            playBoard.setCurrentPlayer(Player.PLAYER2);
+            playBoard.move(6, 2 * col - 4);
+        }
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        assertTrue(move == Coordinates.pack(4, 1) || move == Coordinates.pack(4, 5));
+        assertEquals(6, playBoard.getHistorySize());
+    }
+
+    @Test
+    void bestMove_ifBudget_ReturnsByDeadline() {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(15, 5);
+        long start = System.nanoTime();
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        // the bound is generous, so the test does not depend on the load of the machine
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        assertTrue(elapsedMillis < 2 * 200 + 1000, "elapsed " + elapsedMillis + " ms");
+        assertNotEquals(Coordinates.NONE, move);
+        assertTrue(engine.getPlayouts() > 0);
+    }
+
+    @Test
+    void bestMove_ifDeadlineHasPassed_StopsAtFirstClockCheck() {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(15, 5);
+
+        // when
+        int move = engine.bestMove(playBoard, System.nanoTime());
+        // then
+        // every tree checks the clock before its first iteration and after every 16 iterations
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+        assertEquals(0, engine.getPlayouts());
+    }
+
+    @Test
+    void bestMove_ifGameOver_ReturnsNone() throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new PlayBoardImpl();
+        playBoard.move(0, 0);
+        playBoard.move(1, 1);
+        playBoard.move(2, 2);
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        assertEquals(Coordinates.NONE, move);
+    }
+
+    @Test
+    void cancel_ifIssuedBeforeSearchStarts_StopsNextSearchOnly() {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(15, 5);
+        engine.cancel();
+
+        // when
+        int move = engine.bestMove(playBoard);
+        long cancelledPlayouts = engine.getPlayouts();
+        engine.bestMove(playBoard);
+        // then
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+        assertEquals(0, cancelledPlayouts);
+        assertTrue(engine.getPlayouts() > 0);
+    }
+}
@@ -0,0 +1,332 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import com.bakhanovich.tictactoe.utility.TranspositionTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinimaxEngineTest {
+
+    @Test
+    void value_ifEmptyBoard_ReturnsTie() {
+        // given
+
+        // when
+        int value = MinimaxEngine.value(0, 0);
+        // then
+        assertEquals(0, value);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"0,0,1,0,2,0", "0,0,1,1,2,2", "0,2,1,2,2,2", "2,0,1,1,0,2"})
+    void bestMove_ifWinInOne_ReturnsWinningMove(int row1, int col1, int row2, int col2,
+                                                int winRow, int winCol) throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new PlayBoardImpl();
+        playBoard.move(row1, col1);
+        playBoard.move(row2, col2);
+
+        // when
+        int move = playBoard.bestMove();
+        // then
+        assertEquals(Coordinates.pack(winRow, winCol), move);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"0,0,0,1,0,2", "1,0,1,1,1,2", "0,0,1,1,2,2"})
+    void bestMove_ifOpponentWinsInOne_ReturnsBlockingMove(int row1, int col1, int row2, int col2,
+                                                          int blockRow, int blockCol) throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new BitBoardPlayBoardImpl();
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(row1, col1);
+        playBoard.move(row2, col2);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+
+        // when
+        int move = playBoard.bestMove();
+        // then
+        assertEquals(Coordinates.pack(blockRow, blockCol), move);
+    }
+
+    @Test
+    void bestMove_ifEngineAgainstEngine_EndsInTie() throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new PlayBoardImpl();
+
+        // when
+        while (!playBoard.isGameOver()) {
+            playBoard.move(playBoard.bestMove());
+            playBoard.setCurrentPlayer(MinimaxEngine.other(playBoard.getCurrentPlayer()));
+        }
+        // then
+        assertNull(playBoard.getWinner());
+    }
+
+    @Test
+    void bestMove_ifEngineIsSecondPlayer_NeverLoses() throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new BitBoardPlayBoardImpl();
+
+        // when
+        int losses = countLosses(playBoard);
+        // then
+        assertEquals(0, losses);
+    }
+
+    /**
+     * Plays every move of the first player, the second player is the engine.
+     */
+    private static int countLosses(PlayBoard playBoard) throws IllegalMoveException {
+        int losses = 0;
+        for (int row = 0; row < PlayBoard.SIZE; row++) {
+            for (int col = 0; col < PlayBoard.SIZE; col++) {
+                if (playBoard.getPlayerAt(row, col) != null) {
+                    continue;
+                }
+                playBoard.setCurrentPlayer(Player.PLAYER1);
+                playBoard.move(row, col);
+                if (playBoard.getWinner() == Player.PLAYER1) {
+                    losses++;
+                } else if (!playBoard.isGameOver()) {
+                    playBoard.setCurrentPlayer(Player.PLAYER2);
+                    int reply = playBoard.bestMove();
+                    playBoard.move(reply);
+                    if (!playBoard.isGameOver()) {
+                        losses += countLosses(playBoard);
+                    }
+                    playBoard.undo();
+                }
+                playBoard.undo();
+            }
+        }
+        return losses;
+    }
+
+    @Test
+    void bestMove_ifGameOver_ReturnsNone() throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new PlayBoardImpl();
+        playBoard.move(0, 0);
+        playBoard.move(0, 1);
+        playBoard.move(0, 2);
+
+        // when
+        int move = playBoard.bestMove();
+        // then
+        assertEquals(Coordinates.NONE, move);
+    }
+
+    @Test
+    void bestMove_ifKInARowWinInOne_ReturnsWinningMove() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(7, 4);
+        for (int col = 1; col < 4; col++) {
+            playBoard.setCurrentPlayer(Player.PLAYER1);
+            playBoard.move(3, col);
+            playBoard.setCurrentPlayer(Player.PLAYER2);
+            playBoard.move(5, col + 2);
+        }
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        long hash = playBoard.getPositionHash();
+
+        // when
+        int move = playBoard.bestMove();
+        // then
+        assertTrue(move == Coordinates.pack(3, 0) || move == Coordinates.pack(3, 4));
+        assertEquals(hash, playBoard.getPositionHash());
+        assertEquals(6, playBoard.getHistorySize());
+        assertEquals(Player.PLAYER1, playBoard.getCurrentPlayer());
+        assertEquals(0, playBoard.getStats().getFirstPlayerWins());
+    }
+
+    @Test
+    void bestMove_ifKInARowOpponentWinsInOne_ReturnsBlockingMove() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(7, 4);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 6);
+        playBoard.move(1, 5);
+        playBoard.move(2, 4);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        playBoard.move(6, 6);
+        playBoard.move(5, 6);
+
+        // when
+        int move = playBoard.bestMove();
+        // then
+        assertEquals(Coordinates.pack(3, 3), move);
+    }
+
+    @Test
+    void bestMove_ifSparseWinInOne_ReturnsWinningMove() throws IllegalMoveException {
+        // given
+        SparsePlayBoardImpl playBoard = new SparsePlayBoardImpl(4);
+        for (int i = 0; i < 3; i++) {
+            playBoard.setCurrentPlayer(Player.PLAYER2);
+            playBoard.move(-990, 5000 + 2 * i);
+            playBoard.setCurrentPlayer(Player.PLAYER1);
+            playBoard.move(-1000 + i, 5000 + i);
+        }
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+
+        // when
+        int move = playBoard.bestMove();
+        // then
+        assertTrue(move == Coordinates.pack(-1001, 4999) || move == Coordinates.pack(-997, 5003));
+        assertEquals(6, playBoard.getHistorySize());
+    }
+
+    @Test
+    void bestMove_ifSharedTranspositionTable_ReusesStoredPositions() throws IllegalMoveException {
+        // given
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(7, 4);
+        playBoard.move(3, 3);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(2, 3);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        int move = new MinimaxEngine(3, table).bestMove(playBoard);
+        long hits = table.getHits();
+
+        // when
+        int repeatedMove = new MinimaxEngine(3, table).bestMove(playBoard);
+        // then
+        assertEquals(move, repeatedMove);
+        assertTrue(table.getHits() > hits);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"1", "2", "3"})
+    void search_ifWinStoredByDeeperSearch_ReturnsWinOfNodeDepth(int depth) throws IllegalMoveException {
+        // given
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(7, 4);
+        for (int col = 1; col < 4; col++) {
+            playBoard.setCurrentPlayer(Player.PLAYER1);
+            playBoard.move(3, col);
+            playBoard.setCurrentPlayer(Player.PLAYER2);
+            playBoard.move(5, col + 2);
+        }
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        int alpha = -MinimaxEngine.WIN - 10;
+        int beta = MinimaxEngine.WIN + 10;
+        new MinimaxEngine(4, table).search(playBoard, 4, alpha, beta);
+
+        // when
+        int score = new MinimaxEngine(4, table).search(playBoard, depth, alpha, beta);
+        // then
+        assertEquals(new MinimaxEngine(4, null).search(playBoard, depth, alpha, beta), score);
+        assertEquals(MinimaxEngine.WIN + depth, score);
+    }
+
+    @Test
+    void search_ifStoredMoveIsOutOfBoard_IgnoresMove() throws IllegalMoveException {
+        // given
+        // the entry of a larger board with the same tiles has the same key
+        TranspositionTable table = new TranspositionTable(1 << 12);
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(7, 4);
+        playBoard.move(3, 3);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        table.store(playBoard.getPositionHash(), TranspositionTable.pack(0, 0, TranspositionTable.EXACT, 7 * 7 + 3));
+        int alpha = -MinimaxEngine.WIN - 10;
+        int beta = MinimaxEngine.WIN + 10;
+
+        // when
+        int score = new MinimaxEngine(2, table).search(playBoard, 2, alpha, beta);
+        // then
+        assertEquals(new MinimaxEngine(2, null).search(playBoard, 2, alpha, beta), score);
+        assertEquals(1, playBoard.getHistorySize());
+    }
+
+    @Test
+    void bestMove_ifZeroBudget_CompletesFirstIteration() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(7, 4);
+        for (int col = 1; col < 4; col++) {
+            playBoard.setCurrentPlayer(Player.PLAYER1);
+            playBoard.move(3, col);
+            playBoard.setCurrentPlayer(Player.PLAYER2);
+            playBoard.move(5, col + 2);
+        }
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+
+        // when
+        int move = new MinimaxEngine(12, new TranspositionTable(1 << 12)).bestMove(playBoard, Duration.ZERO);
+        // then
+        assertTrue(move == Coordinates.pack(3, 0) || move == Coordinates.pack(3, 4));
+    }
+
+    @Test
+    void bestMove_ifBudgetIsSpent_ReturnsLegalMoveAndRestoresBoard() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(15, 5);
+        playBoard.move(7, 7);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(7, 8);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        long hash = playBoard.getPositionHash();
+        long start = System.nanoTime();
+
+        // when
+        int move = new MinimaxEngine(30, new TranspositionTable(1 << 12)).bestMove(playBoard, Duration.ofMillis(100));
+        // then
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+        assertEquals(hash, playBoard.getPositionHash());
+        assertEquals(2, playBoard.getHistorySize());
+        assertEquals(Player.PLAYER1, playBoard.getCurrentPlayer());
+    }
+
+    @Test
+    void cancel_ifSearchHasNoBudget_StopsSearch() throws Exception {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(15, 5);
+        playBoard.move(7, 7);
+        MinimaxEngine engine = new MinimaxEngine(30, new TranspositionTable(1 << 12));
+        Thread canceller = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            engine.cancel();
+        });
+
+        // when
+        canceller.start();
+        int move = assertTimeout(Duration.ofSeconds(10), () -> engine.bestMove(playBoard));
+        canceller.join();
+        // then
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+        assertEquals(1, playBoard.getHistorySize());
+    }
+
+    @Test
+    void cancel_ifIssuedBeforeSearchStarts_StopsNextSearchOnly() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(15, 5);
+        playBoard.move(7, 7);
+        MinimaxEngine engine = new MinimaxEngine(30, new TranspositionTable(1 << 12));
+        engine.cancel();
+
+        // when
+        int move = assertTimeout(Duration.ofSeconds(10), () -> engine.bestMove(playBoard));
+        long start = System.nanoTime();
+        int nextMove = engine.bestMove(playBoard, Duration.ofMillis(300));
+        // then
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+        assertEquals(1, playBoard.getHistorySize());
+        // the next search is not cancelled, so it runs until its deadline
+        assertTrue(System.nanoTime() - start >= Duration.ofMillis(300).toNanos());
+        assertNull(playBoard.getPlayerAt(Coordinates.row(nextMove), Coordinates.col(nextMove)));
+    }
+}
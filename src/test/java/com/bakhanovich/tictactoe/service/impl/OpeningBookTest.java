@@ -0,0 +1,167 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import com.bakhanovich.tictactoe.utility.Symmetry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpeningBookTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void lookup_ifPositionAdded_ReturnsMove() throws IOException, IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(9, 4);
+        playBoard.move(4, 4);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        OpeningBook.Writer writer = new OpeningBook.Writer(9, 4);
+        writer.add(playBoard, Coordinates.pack(3, 5), 7, 4);
+        Path path = directory.resolve("book.bin");
+        writer.write(path);
+
+        // when
+        OpeningBook book = OpeningBook.open(path);
+        // then
+        assertEquals(1, book.getEntries());
+        assertEquals(Coordinates.pack(3, 5), book.lookup(playBoard));
+        int entry = book.find(Symmetry.hash(playBoard, Symmetry.canonicalTransform(playBoard)));
+        assertEquals(7, book.scoreAt(entry));
+        assertEquals(4, book.depthAt(entry));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"1,1,7,1,1,7", "1,7,1,1,7,7", "7,7,1,7,7,1", "7,1,1,1,7,7"})
+    void lookup_ifSymmetricPosition_ReturnsTransformedMove(int row, int col, int expectedRow, int expectedCol,
+                                                           int mirroredRow, int mirroredCol)
+            throws IOException, IllegalMoveException {
+        // given
+        OpeningBook.Writer writer = new OpeningBook.Writer(9, 4);
+        KInARowPlayBoardImpl stored = new KInARowPlayBoardImpl(9, 4);
+        stored.move(1, 1);
+        stored.setCurrentPlayer(Player.PLAYER2);
+        writer.add(stored, Coordinates.pack(7, 1), 0, 2);
+        Path path = directory.resolve("book.bin");
+        writer.write(path);
+        OpeningBook book = OpeningBook.open(path);
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(9, 4);
+        playBoard.move(row, col);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+
+        // when
+        int move = book.lookup(playBoard);
+        // then
+        // the position is symmetric to the diagonal through the tile, so both images of the move are best
+        assertTrue(move == Coordinates.pack(expectedRow, expectedCol)
+                || move == Coordinates.pack(mirroredRow, mirroredCol));
+    }
+
+    @Test
+    void lookup_ifPositionMissing_ReturnsNone() throws IOException, IllegalMoveException {
+        // given
+        OpeningBook.Writer writer = new OpeningBook.Writer(9, 4);
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(9, 4);
+        writer.add(playBoard, Coordinates.pack(4, 4), 0, 4);
+        Path path = directory.resolve("book.bin");
+        writer.write(path);
+        OpeningBook book = OpeningBook.open(path);
+
+        // when
+        playBoard.move(0, 0);
+        // then
+        assertEquals(Coordinates.NONE, book.lookup(playBoard));
+        assertEquals(-1, book.find(1L));
+    }
+
+    @Test
+    void open_ifNotABook_ThrowsIOException() throws IOException {
+        // given
+        Path path = directory.resolve("book.bin");
+        Files.write(path, new byte[64]);
+
+        // when
+        // then
+        assertThrows(IOException.class, () -> OpeningBook.open(path));
+    }
+
+    @Test
+    void bestMove_ifPositionInBook_ReturnsBookMove() throws IOException, IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(9, 4);
+        playBoard.move(4, 4);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        OpeningBook.Writer writer = new OpeningBook.Writer(9, 4);
+        writer.add(playBoard, Coordinates.pack(0, 8), 0, 1);
+        Path path = directory.resolve("book.bin");
+        writer.write(path);
+        MinimaxEngine engine = new MinimaxEngine();
+        engine.setOpeningBook(OpeningBook.open(path));
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        assertTrue(Coordinates.row(move) % 8 == 0 && Coordinates.col(move) % 8 == 0);
+        assertEquals(0, engine.getNodes());
+    }
+
+    @Test
+    void main_ifSmallBoard_WritesSortedBook() throws IOException, IllegalMoveException {
+        // given
+        Path path = directory.resolve("book.bin");
+
+        // when
+        OpeningBook.main(new String[]{path.toString(), "7", "4", "3", "2"});
+        OpeningBook book = OpeningBook.open(path);
+        // then
+        assertTrue(book.getEntries() > 2);
+        for (int entry = 1; entry < book.getEntries(); entry++) {
+            assertTrue(Long.compareUnsigned(book.keyAt(entry - 1), book.keyAt(entry)) < 0);
+            assertEquals(entry, book.find(book.keyAt(entry)));
+        }
+        assertEquals(Coordinates.pack(3, 3), book.lookup(new KInARowPlayBoardImpl(7, 4)));
+    }
+
+    @Test
+    void open_ifBookIsMappedInSegments_ReadsEveryEntry() throws IOException, IllegalMoveException {
+        // given
+        Path path = directory.resolve("book.bin");
+        OpeningBook.main(new String[]{path.toString(), "7", "4", "3", "2"});
+        OpeningBook book = OpeningBook.open(path);
+
+        // when
+        OpeningBook segmented = OpeningBook.open(path, 3);
+        // then
+        assertEquals(book.getEntries(), segmented.getEntries());
+        for (int entry = 0; entry < book.getEntries(); entry++) {
+            assertEquals(book.keyAt(entry), segmented.keyAt(entry));
+            assertEquals(book.moveAt(entry), segmented.moveAt(entry));
+            assertEquals(book.scoreAt(entry), segmented.scoreAt(entry));
+            assertEquals(book.depthAt(entry), segmented.depthAt(entry));
+            assertEquals(entry, segmented.find(book.keyAt(entry)));
+        }
+    }
+
+    @Test
+    void open_ifBookIsTruncated_ThrowsIOException() throws IOException, IllegalMoveException {
+        // given
+        Path path = directory.resolve("book.bin");
+        OpeningBook.main(new String[]{path.toString(), "7", "4", "3", "2"});
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+
+        // when
+        // then
+        assertThrows(IOException.class, () -> OpeningBook.open(path));
+    }
+}
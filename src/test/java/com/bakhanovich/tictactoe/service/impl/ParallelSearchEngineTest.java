@@ -0,0 +1,176 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import com.bakhanovich.tictactoe.utility.TranspositionTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSearchEngineTest {
+    ForkJoinPool pool;
+    ParallelSearchEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        engine = new ParallelSearchEngine(4, pool, new TranspositionTable(1 << 14));
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void bestMove_ifWinInOne_ReturnsWinningMove() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(9, 4);
+        for (int col = 2; col < 5; col++) {
+            playBoard.setCurrentPlayer(Player.PLAYER1);
+            playBoard.move(4, col);
+            playBoard.setCurrentPlayer(Player.PLAYER2);
+            playBoard.move(6, col + 1);
+        }
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        long hash = playBoard.getPositionHash();
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        assertTrue(move == Coordinates.pack(4, 1) || move == Coordinates.pack(4, 5));
+        assertEquals(hash, playBoard.getPositionHash());
+        assertEquals(6, playBoard.getHistorySize());
+        assertTrue(engine.getNodes() > 0);
+        assertTrue(engine.getNodesPerSecond() > 0);
+    }
+
+    @Test
+    void bestMove_ifOpponentWinsInOne_ReturnsBlockingMove() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(9, 4);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 8);
+        playBoard.move(1, 7);
+        playBoard.move(2, 6);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        playBoard.move(8, 8);
+        playBoard.move(7, 8);
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        assertEquals(Coordinates.pack(3, 5), move);
+    }
+
+    @Test
+    void bestMove_ifForcedWin_ReturnsSameMoveAsSequentialSearch() throws IllegalMoveException {
+        // given
+        // the open three of PLAYER1 on the row 4 is won by the extension to the open four
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(9, 5);
+        playBoard.move(4, 3);
+        playBoard.move(4, 4);
+        playBoard.move(4, 5);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(0, 0);
+        playBoard.move(8, 8);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+
+        // when
+        int parallelMove = engine.bestMove(playBoard);
+        int sequentialMove = new MinimaxEngine(4, new TranspositionTable(1 << 14)).bestMove(playBoard);
+        // then
+        assertEquals(sequentialMove, parallelMove);
+        assertTrue(parallelMove == Coordinates.pack(4, 2) || parallelMove == Coordinates.pack(4, 6));
+    }
+
+    @Test
+    void bestMove_ifEngineSearchedAnotherBoard_SearchesNewBoard() throws IllegalMoveException {
+        // given
+        // the threads keep the boards of the previous search, the open three is on the row 4 and then on the column 4
+        KInARowPlayBoardImpl rowBoard = new KInARowPlayBoardImpl(9, 5);
+        KInARowPlayBoardImpl colBoard = new KInARowPlayBoardImpl(9, 5);
+        for (int k = 3; k <= 5; k++) {
+            rowBoard.move(4, k);
+            colBoard.move(k, 4);
+        }
+        rowBoard.setCurrentPlayer(Player.PLAYER2);
+        colBoard.setCurrentPlayer(Player.PLAYER2);
+        rowBoard.move(0, 0);
+        colBoard.move(0, 0);
+        rowBoard.move(8, 8);
+        colBoard.move(8, 8);
+        rowBoard.setCurrentPlayer(Player.PLAYER1);
+        colBoard.setCurrentPlayer(Player.PLAYER1);
+        engine.bestMove(rowBoard);
+        String colBoardBefore = colBoard.toString();
+
+        // when
+        int move = engine.bestMove(colBoard);
+        // then
+        assertTrue(move == Coordinates.pack(2, 4) || move == Coordinates.pack(6, 4));
+        assertEquals(colBoardBefore, colBoard.toString());
+        assertEquals(5, colBoard.getHistorySize());
+    }
+
+    @Test
+    void bestMove_ifStandardBoard_ReturnsPerfectMove() throws IllegalMoveException {
+        // given
+        PlayBoardImpl playBoard = new PlayBoardImpl();
+        playBoard.move(0, 0);
+        playBoard.move(0, 1);
+
+        // when
+        int move = engine.bestMove(playBoard);
+        // then
+        assertEquals(Coordinates.pack(0, 2), move);
+    }
+
+    @Test
+    void bestMove_ifBudgetIsSpent_ReturnsLegalMoveAndRestoresBoard() throws IllegalMoveException {
+        // given
+        ParallelSearchEngine deepEngine = new ParallelSearchEngine(30, pool, new TranspositionTable(1 << 14));
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(15, 5);
+        playBoard.move(7, 7);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(6, 8);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        long hash = playBoard.getPositionHash();
+
+        // when
+        int move = deepEngine.bestMove(playBoard, Duration.ofMillis(100));
+        // then
+        assertTrue(deepEngine.getElapsedNanos() < Duration.ofSeconds(5).toNanos());
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+        assertEquals(hash, playBoard.getPositionHash());
+        assertEquals(2, playBoard.getHistorySize());
+    }
+
+    @Test
+    void cancel_ifIssuedBeforeSearchStarts_StopsNextSearchOnly() throws IllegalMoveException {
+        // given
+        ParallelSearchEngine deepEngine = new ParallelSearchEngine(30, pool, new TranspositionTable(1 << 14));
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(15, 5);
+        playBoard.move(7, 7);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(6, 8);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        deepEngine.cancel();
+
+        // when
+        int move = assertTimeout(Duration.ofSeconds(10), () -> deepEngine.bestMove(playBoard));
+        int nextMove = deepEngine.bestMove(playBoard, Duration.ofMillis(300));
+        // then
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+        // the next search is not cancelled, so it runs until its deadline
+        assertTrue(deepEngine.getElapsedNanos() >= Duration.ofMillis(300).toNanos());
+        assertNull(playBoard.getPlayerAt(Coordinates.row(nextMove), Coordinates.col(nextMove)));
+        assertEquals(2, playBoard.getHistorySize());
+    }
+}
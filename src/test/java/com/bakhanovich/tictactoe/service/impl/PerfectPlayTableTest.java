@@ -0,0 +1,95 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PerfectPlayTableTest {
+
+    @Test
+    void generate_ifAllPositions_Returns5478ReachablePositions() {
+        // given
+        int reachable = 0;
+
+        // when
+        for (int ownTiles = 0; ownTiles < 512; ownTiles++) {
+            for (int opponentTiles = 0; opponentTiles < 512; opponentTiles++) {
+                if ((ownTiles & opponentTiles) == 0 && PerfectPlayTable.isReachable(ownTiles, opponentTiles)) {
+                    reachable++;
+                }
+            }
+        }
+        // then
+        assertEquals(5478, reachable);
+    }
+
+    @Test
+    void load_ifResourceExists_EqualsGeneratedTable() throws IOException {
+        // given
+        byte[] generated = PerfectPlayTable.generate();
+
+        // when
+        byte[] resource;
+        try (InputStream stream = PerfectPlayTable.class.getResourceAsStream(PerfectPlayTable.RESOURCE)) {
+            assertNotNull(stream);
+            resource = stream.readAllBytes();
+        }
+        // then
+        assertArrayEquals(generated, resource);
+    }
+
+    @Test
+    void value_ifEmptyBoard_ReturnsDraw() {
+        // given
+
+        // when
+        int value = PerfectPlayTable.value(0, 0);
+        int bestCell = PerfectPlayTable.bestCell(0, 0);
+        // then
+        assertEquals(PerfectPlayTable.DRAW, value);
+        assertTrue(bestCell >= 0);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+            // the own tiles on (0,0) and (0,1), the opponent's ones on (1,0) and (1,1): win on (0,2)
+            "3,24,1,2",
+            // the opponent's tile on (1,1): draw by the reply on the corner
+            "0,16,0,0",
+            // the opponent has the line (0,0)-(0,2) and the game is over
+            "24,7,-1,-1"})
+    void value_ifPosition_ReturnsValueAndBestCell(int ownTiles, int opponentTiles, int value, int bestCell) {
+        // given
+
+        // when
+        int actualValue = PerfectPlayTable.value(ownTiles, opponentTiles);
+        int actualBestCell = PerfectPlayTable.bestCell(ownTiles, opponentTiles);
+        // then
+        assertEquals(value, actualValue);
+        assertEquals(bestCell, actualBestCell);
+    }
+
+    @Test
+    void value_ifReachablePosition_EqualsSignOfMinimaxValue() {
+        // given
+        int mismatches = 0;
+
+        // when
+        for (int ownTiles = 0; ownTiles < 512; ownTiles++) {
+            for (int opponentTiles = 0; opponentTiles < 512; opponentTiles++) {
+                if ((ownTiles & opponentTiles) == 0 && PerfectPlayTable.isReachable(ownTiles, opponentTiles)
+                        && PerfectPlayTable.value(ownTiles, opponentTiles)
+                        != Integer.signum(MinimaxEngine.value(ownTiles, opponentTiles))) {
+                    mismatches++;
+                }
+            }
+        }
+        // then
+        assertEquals(0, mismatches);
+    }
+}
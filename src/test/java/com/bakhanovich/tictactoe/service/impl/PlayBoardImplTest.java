@@ -2,6 +2,9 @@ package com.bakhanovich.tictactoe.service.impl;
 
 import com.bakhanovich.tictactoe.exception.IllegalMoveException;
 import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.model.Sign;
+import com.bakhanovich.tictactoe.model.Tile;
+import com.bakhanovich.tictactoe.service.PlayBoard;
 import lombok.SneakyThrows;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -73,6 +76,22 @@ class PlayBoardImplTest {
         assertTrue(isGameOver);
     }
 
+    @Test
+    void isGameOver_ifBoardFilledAfterClearBoard_ReturnsTrue() throws IllegalMoveException {
+        // given
+        fillThePlayBoard();
+        playBoard.clearBoard();
+        assertEquals(0, playBoard.getFilledCells());
+        assertFalse(playBoard.isGameOver());
+
+        // when
+        fillThePlayBoard();
+
+        // then
+        assertEquals(9, playBoard.getFilledCells());
+        assertTrue(playBoard.isGameOver());
+    }
+
     @ParameterizedTest
     @CsvSource(value={"1","2","0"})
     void isGameOver_ifWinningCombinationVertical_ReturnsTrue(int col) throws IllegalMoveException {
@@ -265,6 +284,215 @@ class PlayBoardImplTest {
         assertTrue(allCellsClearAfter);
     }
 
+    @Test
+    void clearBoard_ifBoardWasFilled_BoardArrayIsReused() throws IllegalMoveException {
+        // given
+        Tile[][] boardBefore = playBoard.getCurrentBoard();
+        fillThePlayBoard();
+
+        // when
+        playBoard.clearBoard();
+
+        // then
+        assertSame(boardBefore, playBoard.getCurrentBoard());
+    }
+
+    @Test
+    void move_ifTwoMovesOfSamePlayer_TilesAreShared() throws IllegalMoveException {
+        // given
+
+        // when
+        playBoard.move(0, 0);
+        playBoard.move(2, 2);
+
+        // then
+        assertSame(Tile.of(Player.PLAYER1, Sign.X), playBoard.getCurrentBoard()[0][0]);
+        assertSame(playBoard.getCurrentBoard()[0][0], playBoard.getCurrentBoard()[2][2]);
+    }
+
+    @Test
+    void clearBoard_ifGameWasWon_WinnerIsReset() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 0);
+        playBoard.move(1, 1);
+        playBoard.move(2, 2);
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+
+        // when
+        playBoard.clearBoard();
+
+        // then
+        assertNull(playBoard.getWinner());
+        assertFalse(playBoard.isGameOver());
+    }
+
+    @Test
+    void move_afterGameWasWon_WinnerAndStatsAreNotChanged() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 0);
+        playBoard.move(0, 1);
+        playBoard.move(0, 2);
+
+        // when
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(1, 0);
+        playBoard.move(1, 1);
+        playBoard.move(1, 2);
+
+        // then
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+        assertEquals(1, playBoard.getStats().getFirstPlayerWins());
+        assertEquals(0, playBoard.getStats().getSecondPlayerWins());
+    }
+
+    @Test
+    void getPositionHash_ifSameTilesInOtherOrder_HashesAreEqual() throws IllegalMoveException {
+        // given
+        PlayBoardImpl other = new PlayBoardImpl();
+        playBoard.move(0, 0);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(1, 1);
+        other.setCurrentPlayer(Player.PLAYER2);
+        other.move(1, 1);
+        other.setCurrentPlayer(Player.PLAYER1);
+        other.move(0, 0);
+        other.setCurrentPlayer(Player.PLAYER2);
+
+        // when
+        long hash = playBoard.getPositionHash();
+
+        // then
+        assertEquals(other.getPositionHash(), hash);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        assertNotEquals(hash, playBoard.getPositionHash());
+    }
+
+    @Test
+    void getPositionHash_ifBoardWasCleared_SameAsNewBoard() throws IllegalMoveException {
+        // given
+        long emptyHash = playBoard.getPositionHash();
+        playBoard.move(2, 1);
+        assertNotEquals(emptyHash, playBoard.getPositionHash());
+
+        // when
+        playBoard.clearBoard();
+
+        // then
+        assertEquals(emptyHash, playBoard.getPositionHash());
+    }
+
+    @Test
+    void undo_ifWinningMove_StateBeforeMoveIsRestored() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 0);
+        playBoard.move(0, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(2, 2);
+        playBoard.setCurrentPlayer(Player.PLAYER1);
+        long hashBefore = playBoard.getPositionHash();
+        playBoard.move(0, 2);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+        assertEquals(1, playBoard.getStats().getFirstPlayerWins());
+
+        // when
+        playBoard.undo();
+
+        // then
+        assertNull(playBoard.getWinner());
+        assertFalse(playBoard.isGameOver());
+        assertNull(playBoard.getPlayerAt(0, 2));
+        assertEquals(Player.PLAYER1, playBoard.getCurrentPlayer());
+        assertEquals(3, playBoard.getFilledCells());
+        assertEquals(0, playBoard.getStats().getFirstPlayerWins());
+        assertEquals(hashBefore, playBoard.getPositionHash());
+    }
+
+    @Test
+    void undo_ifAllMovesAreTakenBack_BoardIsEmpty() throws IllegalMoveException {
+        // given
+        long emptyHash = playBoard.getPositionHash();
+        fillThePlayBoard();
+
+        // when
+        for (int i = 0; i < 9; i++) {
+            playBoard.undo();
+        }
+
+        // then
+        assertEquals(0, playBoard.getFilledCells());
+        assertEquals(emptyHash, playBoard.getPositionHash());
+        assertNull(playBoard.getWinner());
+        assertThrows(IllegalMoveException.class, () -> playBoard.undo());
+    }
+
+    @Test
+    void unmake_ifNotTheLastMove_Throws() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 0);
+        playBoard.move(1, 1);
+
+        // when then
+        assertThrows(IllegalMoveException.class, () -> playBoard.unmake(0, 0));
+        playBoard.unmake(1, 1);
+        assertNull(playBoard.getPlayerAt(1, 1));
+    }
+
+    @Test
+    void undo_ifBoardWasCleared_Throws() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 0);
+
+        // when
+        playBoard.clearBoard();
+
+        // then
+        assertThrows(IllegalMoveException.class, () -> playBoard.undo());
+    }
+
+    /**
+     * The early tie is found by the counters of the lines of {@link PlayBoardImpl}, which are restored by
+     * the undo, and by the win masks of {@link BitBoardPlayBoardImpl}, both are checked on the same position.
+     */
+    @ParameterizedTest
+    @CsvSource(value = {"tile", "bitboard"})
+    void isGameOver_ifEveryLineIsBlocked_ReturnsTrueBeforeBoardIsFilled(String boardName) throws IllegalMoveException {
+        // given
+        // X X O
+        // O O X
+        // X O
+        PlayBoard board = playBlockedPosition(boardName);
+
+        // when
+        boolean isGameOver = board.isGameOver();
+        // then
+        assertTrue(isGameOver);
+        assertNull(board.getWinner());
+        assertNull(board.getPlayerAt(2, 2));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"tile", "bitboard"})
+    void isGameOver_ifBlockingMoveIsTakenBack_ReturnsFalse(String boardName) throws IllegalMoveException {
+        // given
+        PlayBoard board = playBlockedPosition(boardName);
+
+        // when
+        board.undo();
+        // then
+        assertFalse(board.isGameOver());
+    }
+
+    private static PlayBoard playBlockedPosition(String boardName) throws IllegalMoveException {
+        PlayBoard board = boardName.equals("tile") ? new PlayBoardImpl() : new BitBoardPlayBoardImpl();
+        int[][] moves = {{0, 0}, {0, 2}, {0, 1}, {1, 0}, {1, 2}, {1, 1}, {2, 0}, {2, 1}};
+        for (int[] move : moves) {
+            board.move(move[0], move[1]);
+            board.setCurrentPlayer(board.getCurrentPlayer() == Player.PLAYER1 ? Player.PLAYER2 : Player.PLAYER1);
+        }
+        return board;
+    }
+
     @Test
     void setFirstPlayer_ifWasPlayer1_NowPlayer2() throws IllegalMoveException {
         // given
@@ -0,0 +1,173 @@
+package com.bakhanovich.tictactoe.service.impl;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SparsePlayBoardImplTest {
+    SparsePlayBoardImpl playBoard;
+
+    @BeforeEach
+    void setUp(){
+        playBoard = new SparsePlayBoardImpl(5);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"0, 1", "1, 0", "1, 1", "1, -1"})
+    void isGameOver_ifFiveInARowFarFromOrigin_ReturnsTrue(int rowStep, int colStep) throws IllegalMoveException {
+        // given
+        int row = -30_000;
+        int col = 30_000;
+        for (int k = 0; k < 4; k++) {
+            playBoard.move(row + k * rowStep, col + k * colStep);
+        }
+        assertFalse(playBoard.isGameOver());
+
+        // when
+        playBoard.move(row + 4 * rowStep, col + 4 * colStep);
+
+        // then
+        assertTrue(playBoard.isGameOver());
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+    }
+
+    @Test
+    void isGameOver_ifManyTilesWithoutRun_ReturnsFalse() throws IllegalMoveException {
+        // given
+
+        // when
+        for (int i = 0; i < 300; i++) {
+            for (int j = 0; j < 300; j++) {
+                playBoard.setCurrentPlayer(((i / 2 + j) % 2 == 0) ? Player.PLAYER1 : Player.PLAYER2);
+                playBoard.move(i, j);
+            }
+        }
+
+        // then
+        assertFalse(playBoard.isGameOver());
+        assertEquals(90_000, playBoard.getTiles().size());
+        assertEquals(Player.PLAYER1, playBoard.getPlayerAt(0, 0));
+        assertEquals(Player.PLAYER2, playBoard.getPlayerAt(0, 1));
+        assertNull(playBoard.getPlayerAt(300, 300));
+    }
+
+    @Test
+    void move_ifCurrentCellIsNotNull_Throws() throws IllegalMoveException {
+        // given
+        playBoard.move(Coordinates.MIN_VALUE, Coordinates.MAX_VALUE);
+
+        // when then
+        assertThrows(IllegalMoveException.class,
+                ()->{playBoard.move(Coordinates.MIN_VALUE, Coordinates.MAX_VALUE);});
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"32768, 0", "0, 32768", "-32768, 0", "0, -32768", "-2147483648, 2147483647"})
+    void move_ifCoordinateCannotBePacked_Throws(int row, int col) {
+        // when then
+        assertThrows(IllegalMoveException.class, ()->{playBoard.move(row, col);});
+        assertEquals(0, playBoard.getHistorySize());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"32767, 32767", "-32767, -32767", "32767, -32767"})
+    void bestMove_ifLastMoveOnBorderOfRange_ReturnsMoveInRange(int row, int col) throws IllegalMoveException {
+        // given
+        playBoard.move(row, col);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+
+        // when
+        int move = playBoard.bestMove();
+
+        // then
+        playBoard.move(move);
+        assertEquals(2, playBoard.getHistorySize());
+        assertTrue(Math.abs(Coordinates.row(move) - row) <= 1);
+        assertTrue(Math.abs(Coordinates.col(move) - col) <= 1);
+    }
+
+    @Test
+    void bestMove_ifCalledAfterAnotherSearch_DoesNotSeeOldWindow() throws IllegalMoveException {
+        // given
+        playBoard.move(0, 0);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.bestMove();
+        playBoard.undo();
+        playBoard.move(20_000, 20_000);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+
+        // when
+        int move = playBoard.bestMove();
+
+        // then
+        assertTrue(Math.abs(Coordinates.row(move) - 20_000) <= 1);
+        assertTrue(Math.abs(Coordinates.col(move) - 20_000) <= 1);
+        assertNull(playBoard.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+    }
+
+    @Test
+    void clearBoard_ifGameWasWon_BoardIsClear() throws IllegalMoveException {
+        // given
+        for (int k = 0; k < 5; k++) {
+            playBoard.move(0, k);
+        }
+
+        // when
+        playBoard.clearBoard();
+
+        // then
+        assertFalse(playBoard.isGameOver());
+        assertNull(playBoard.getPlayerAt(0, 0));
+    }
+
+    @Test
+    void toString_afterTwoMoves_BoundingSquareIsPrinted() throws IllegalMoveException {
+        // given
+        playBoard.move(10, 10);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(9, 9);
+        String expectedOutput = "\n" +
+                " O |    |    \n" +
+                "-------------\n" +
+                "   |  X |    \n" +
+                "-------------\n" +
+                "   |    |    \n";
+
+        // when
+        String toString = playBoard.toString();
+
+        // then
+        assertEquals(expectedOutput, toString);
+    }
+
+    @Test
+    void undo_ifWinningMove_StateBeforeMoveIsRestored() throws IllegalMoveException {
+        // given
+        int winLength = playBoard.getWinLength();
+        for (int k = 0; k < winLength - 1; k++) {
+            playBoard.move(1, k);
+        }
+        long hashBefore = playBoard.getPositionHash();
+        String stringBefore = playBoard.toString();
+        playBoard.move(1, winLength - 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        assertEquals(Player.PLAYER1, playBoard.getWinner());
+
+        // when
+        playBoard.undo();
+
+        // then
+        assertNull(playBoard.getWinner());
+        assertFalse(playBoard.isGameOver());
+        assertEquals(Player.PLAYER1, playBoard.getCurrentPlayer());
+        assertEquals(0, playBoard.getStats().getFirstPlayerWins());
+        assertEquals(hashBefore, playBoard.getPositionHash());
+        assertEquals(stringBefore, playBoard.toString());
+    }
+}
@@ -0,0 +1,79 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.model.Stats;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.service.impl.PlayBoardImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BitSlicedBatchTest {
+
+    @Test
+    void playBatch_ifRandomOrders_ReturnsOutcomesOfBoard() throws IllegalMoveException {
+        // given
+        Random random = new Random(23);
+        BitSlicedBatch batch = new BitSlicedBatch(1);
+        int[][] orders = new int[BitSlicedBatch.GAMES_PER_BATCH][];
+        for (int game = 0; game < orders.length; game++) {
+            orders[game] = random.ints(0, 9).distinct().limit(9).toArray();
+            batch.setOrder(game, orders[game]);
+        }
+
+        // when
+        batch.playBatch(-1L);
+        // then
+        for (int game = 0; game < orders.length; game++) {
+            Player winner = play(orders[game]);
+            assertEquals(winner == Player.PLAYER1, (batch.getFirstPlayerWins() >>> game & 1) != 0);
+            assertEquals(winner == Player.PLAYER2, (batch.getSecondPlayerWins() >>> game & 1) != 0);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"1", "63", "64", "1000"})
+    void run_ifGames_CountsEveryGame(long games) {
+        // given
+        BitSlicedBatch batch = new BitSlicedBatch(5);
+
+        // when
+        SimulationResult result = batch.run(games);
+        // then
+        Stats stats = result.getStats();
+        assertEquals(games, stats.getFirstPlayerWins() + stats.getSecondPlayerWins() + stats.getTies());
+        assertTrue(result.getMoves() >= 5 * games);
+    }
+
+    @Test
+    void run_ifManyGames_MatchesRandomPolicies() {
+        // given
+        SelfPlaySimulator simulator = new SelfPlaySimulator(new PlayBoardImpl(), new RandomPolicy(1), new RandomPolicy(2));
+        SimulationResult expected = simulator.run(200_000);
+
+        // when
+        SimulationResult result = new BitSlicedBatch(3).run(200_000);
+        // then
+        assertEquals(expected.getStats().getFirstPlayerWins(), result.getStats().getFirstPlayerWins(), 2_000);
+        assertEquals(expected.getStats().getSecondPlayerWins(), result.getStats().getSecondPlayerWins(), 2_000);
+        assertEquals(expected.getStats().getTies(), result.getStats().getTies(), 2_000);
+    }
+
+    private static Player play(int[] order) throws IllegalMoveException {
+        PlayBoard board = new PlayBoardImpl();
+        for (int cell : order) {
+            if (board.getWinner() != null) {
+                break;
+            }
+            Player player = board.getCurrentPlayer();
+            board.move(cell / 3, cell % 3);
+            board.setCurrentPlayer(player == Player.PLAYER1 ? Player.PLAYER2 : Player.PLAYER1);
+        }
+        return board.getWinner();
+    }
+}
@@ -0,0 +1,70 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameTreeCensusTest {
+    ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"tile", "bitboard", "k-in-a-row"})
+    void run_ifStandardBoard_CountsAllGames(String boardName) {
+        // given
+        GameTreeCensus census = new GameTreeCensus(() -> SelfPlaySimulator.createBoard(boardName, 3, 3), pool);
+
+        // when
+        GameTreeCensus.Census result = census.run(Integer.MAX_VALUE);
+        // then
+        assertEquals(255168, result.getGames());
+        assertEquals(131184, result.getFirstPlayerWins());
+        assertEquals(77904, result.getSecondPlayerWins());
+        assertEquals(46080, result.getDraws());
+        assertEquals(0, result.getUnfinished());
+        assertEquals(549945, result.getNodes());
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"5,1440,0,0", "6,0,5328,0", "7,47952,0,0", "8,0,72576,0", "9,81792,0,46080"})
+    void run_ifStandardBoard_CountsGamesByLength(int moves, long firstPlayerWins, long secondPlayerWins,
+                                                 long draws) {
+        // given
+        GameTreeCensus census = new GameTreeCensus(() -> SelfPlaySimulator.createBoard("tile", 0, 0), pool);
+
+        // when
+        GameTreeCensus.Census result = census.run(9);
+        // then
+        assertEquals(firstPlayerWins, result.getFirstPlayerWins(moves));
+        assertEquals(secondPlayerWins, result.getSecondPlayerWins(moves));
+        assertEquals(draws, result.getDraws(moves));
+    }
+
+    @Test
+    void run_ifPartialDepth_CountsUnfinishedGames() {
+        // given
+        GameTreeCensus census = new GameTreeCensus(() -> SelfPlaySimulator.createBoard("k-in-a-row", 4, 4), pool);
+
+        // when
+        GameTreeCensus.Census result = census.run(3);
+        // then
+        assertEquals(16 * 15 * 14, result.getUnfinished());
+        assertEquals(16 + 16 * 15 + 16 * 15 * 14, result.getNodes());
+        assertEquals(0, result.getFirstPlayerWins() + result.getSecondPlayerWins() + result.getDraws());
+    }
+}
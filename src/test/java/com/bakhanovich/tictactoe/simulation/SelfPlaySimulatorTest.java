@@ -0,0 +1,105 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.model.Stats;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.service.impl.MinimaxEngine;
+import com.bakhanovich.tictactoe.utility.Coordinates;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SelfPlaySimulatorTest {
+
+    @ParameterizedTest
+    @CsvSource(value = {"tile", "bitboard", "k-in-a-row"})
+    void run_ifRandomPolicies_CountsEveryGame(String boardName) {
+        // given
+        PlayBoard board = SelfPlaySimulator.createBoard(boardName, 7, 4);
+        SelfPlaySimulator simulator = new SelfPlaySimulator(board, new RandomPolicy(1), new RandomPolicy(2));
+
+        // when
+        SimulationResult result = simulator.run(500);
+        // then
+        Stats stats = result.getStats();
+        assertEquals(500, stats.getFirstPlayerWins() + stats.getSecondPlayerWins() + stats.getTies());
+        assertTrue(result.getMoves() >= 500 * 5);
+        assertTrue(stats.getFirstPlayerWins() > stats.getSecondPlayerWins());
+    }
+
+    @Test
+    void run_ifSameSeeds_ReturnsSameStats() {
+        // given
+        SelfPlaySimulator simulator = new SelfPlaySimulator(SelfPlaySimulator.createBoard("tile", 0, 0),
+                new RandomPolicy(7), new RandomPolicy(8));
+        SelfPlaySimulator repeated = new SelfPlaySimulator(SelfPlaySimulator.createBoard("bitboard", 0, 0),
+                new RandomPolicy(7), new RandomPolicy(8));
+
+        // when
+        SimulationResult result = simulator.run(1000);
+        SimulationResult repeatedResult = repeated.run(1000);
+        // then
+        assertEquals(result.getStats().getFirstPlayerWins(), repeatedResult.getStats().getFirstPlayerWins());
+        assertEquals(result.getStats().getSecondPlayerWins(), repeatedResult.getStats().getSecondPlayerWins());
+        assertEquals(result.getMoves(), repeatedResult.getMoves());
+    }
+
+    @Test
+    void run_ifEnginePolicies_EndsInTies() {
+        // given
+        SelfPlaySimulator simulator = new SelfPlaySimulator(SelfPlaySimulator.createBoard("bitboard", 0, 0),
+                new EnginePolicy(new MinimaxEngine()), new EnginePolicy(new MinimaxEngine()));
+
+        // when
+        SimulationResult result = simulator.run(10);
+        // then
+        assertEquals(10, result.getStats().getTies());
+        assertTrue(result.getGamesPerSecond() > 0);
+    }
+
+    @Test
+    void createSimulation_ifMctsPolicy_PlaysCompleteGames() {
+        // given
+        Simulation simulation = SelfPlaySimulator.createSimulation("tile", 0, 0, "mcts", "random", 1);
+
+        // when
+        SimulationResult result = simulation.run(3);
+        // then
+        Stats stats = result.getStats();
+        assertEquals(3, stats.getFirstPlayerWins() + stats.getSecondPlayerWins() + stats.getTies());
+        assertTrue(result.getMoves() >= 3 * 5);
+    }
+
+    @Test
+    void run_ifScriptedPolicies_ReplaysScript() {
+        // given
+        Policy first = new ScriptedPolicy(new int[]{Coordinates.pack(0, 0), Coordinates.pack(1, 1),
+                Coordinates.pack(2, 2)}, new RandomPolicy(1));
+        Policy second = new ScriptedPolicy(new int[]{Coordinates.pack(0, 1), Coordinates.pack(0, 2)},
+                new RandomPolicy(2));
+        SelfPlaySimulator simulator = new SelfPlaySimulator(SelfPlaySimulator.createBoard("tile", 0, 0),
+                first, second);
+
+        // when
+        SimulationResult result = simulator.run(3);
+        // then
+        assertEquals(3, result.getStats().getFirstPlayerWins());
+        assertEquals(15, result.getMoves());
+    }
+
+    @Test
+    void nextMove_ifRandomPolicy_ReturnsEmptyCell() {
+        // given
+        PlayBoard board = SelfPlaySimulator.createBoard("k-in-a-row", 5, 3);
+        RandomPolicy policy = new RandomPolicy(3);
+
+        // when
+        for (int i = 0; i < 25; i++) {
+            int move = policy.nextMove(board);
+            // then
+            assertNull(board.getPlayerAt(Coordinates.row(move), Coordinates.col(move)));
+            assertDoesNotThrow(() -> board.move(move));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bakhanovich.tictactoe.simulation;
+
+import com.bakhanovich.tictactoe.model.Stats;
+import com.bakhanovich.tictactoe.service.impl.BitBoardPlayBoardImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TournamentRunnerTest {
+    TournamentRunner runner = new TournamentRunner(BitBoardPlayBoardImpl::new, RandomPolicy::new, RandomPolicy::new);
+
+    @ParameterizedTest
+    @CsvSource(value = {"1,1000", "3,1000", "4,7"})
+    void run_ifWorkers_CountsEveryGame(int workers, long games) {
+        // given
+
+        // when
+        SimulationResult result = runner.run(games, workers, 5);
+        // then
+        Stats stats = result.getStats();
+        assertEquals(games, result.getGames());
+        assertEquals(games, stats.getFirstPlayerWins() + stats.getSecondPlayerWins() + stats.getTies());
+    }
+
+    @Test
+    void run_ifSameSeedAndWorkers_ReturnsSameResult() {
+        // given
+        SimulationResult result = runner.run(10_000, 4, 42);
+
+        // when
+        SimulationResult repeatedResult = runner.run(10_000, 4, 42);
+        // then
+        assertEquals(result.getMoves(), repeatedResult.getMoves());
+        assertEquals(result.getStats().getFirstPlayerWins(), repeatedResult.getStats().getFirstPlayerWins());
+        assertEquals(result.getStats().getSecondPlayerWins(), repeatedResult.getStats().getSecondPlayerWins());
+        assertEquals(result.getStats().getTies(), repeatedResult.getStats().getTies());
+    }
+
+    @Test
+    void run_ifMergedCountsExceedInt_ReturnsLongCounts() {
+        // given
+        // every worker reports its share of the games as the wins of the first player without playing them
+        TournamentRunner countingRunner = new TournamentRunner(seed -> games -> SimulationResult.builder()
+                .games(games)
+                .stats(Stats.builder().firstPlayerWins(games).build())
+                .build());
+        long games = 3L * Integer.MAX_VALUE;
+
+        // when
+        SimulationResult result = countingRunner.run(games, 4, 1);
+        // then
+        assertEquals(games, result.getGames());
+        assertEquals(games, result.getStats().getFirstPlayerWins());
+    }
+
+    @Test
+    void run_ifNoWorkers_ThrowsIllegalArgumentException() {
+        // given
+
+        // when
+        // then
+        assertThrows(IllegalArgumentException.class, () -> runner.run(10, 0, 1));
+    }
+}
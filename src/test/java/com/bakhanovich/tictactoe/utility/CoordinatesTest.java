@@ -0,0 +1,60 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.impl.PlayBoardImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoordinatesTest {
+
+    @ParameterizedTest
+    @CsvSource(value={"0, 0", "2, 1", "-1, -1", "32767, -32767", "-32767, 32767"})
+    void pack_ifPackable_RowAndColAreRestored(int row, int col) {
+        // given
+        assertTrue(Coordinates.isPackable(row, col));
+
+        // when
+        int coordinate = Coordinates.pack(row, col);
+
+        // then
+        assertNotEquals(Coordinates.NONE, coordinate);
+        assertEquals(row, Coordinates.row(coordinate));
+        assertEquals(col, Coordinates.col(coordinate));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value={"32768, 0", "0, -32768", "-32768, 0"})
+    void isPackable_ifOutOfRange_ReturnsFalse(int row, int col) {
+        // given
+
+        // when then
+        assertFalse(Coordinates.isPackable(row, col));
+    }
+
+    @Test
+    void boardCell_ifIndexOfCell_ReturnsPackedCell() {
+        // given
+
+        // when
+        int coordinate = Coordinates.boardCell(5);
+
+        // then
+        assertEquals(Coordinates.pack(1, 2), coordinate);
+    }
+
+    @Test
+    void move_ifPackedCoordinate_TileIsPlaced() throws IllegalMoveException {
+        // given
+        PlayBoardImpl playBoard = new PlayBoardImpl();
+
+        // when
+        playBoard.move(Coordinates.pack(2, 1));
+
+        // then
+        assertEquals(Player.PLAYER1, playBoard.getPlayerAt(2, 1));
+    }
+}
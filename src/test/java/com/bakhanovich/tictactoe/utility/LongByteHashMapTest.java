@@ -0,0 +1,73 @@
+package com.bakhanovich.tictactoe.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongByteHashMapTest {
+
+    @Test
+    void get_ifKeyIsAbsent_Returns0() {
+        // given
+        LongByteHashMap map = new LongByteHashMap();
+
+        // when then
+        assertEquals(0, map.get(42L));
+    }
+
+    @Test
+    void put_ifZeroValue_Throws() {
+        // given
+        LongByteHashMap map = new LongByteHashMap();
+
+        // when then
+        assertThrows(IllegalArgumentException.class, () -> map.put(1L, (byte) 0));
+    }
+
+    @Test
+    void putAndRemove_ifManyRandomKeys_SameAsHashMap() {
+        // given
+        LongByteHashMap map = new LongByteHashMap(4);
+        Map<Long, Byte> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // when
+        for (int i = 0; i < 100_000; i++) {
+            long key = random.nextInt(2_000) - 1_000L;
+            if (random.nextInt(3) == 0) {
+                Byte removed = expected.remove(key);
+                assertEquals(removed == null ? 0 : removed, map.remove(key));
+            } else {
+                byte value = (byte) (random.nextInt(2) + 1);
+                Byte previous = expected.put(key, value);
+                assertEquals(previous == null ? 0 : previous, map.put(key, value));
+            }
+        }
+
+        // then
+        assertEquals(expected.size(), map.size());
+        for (long key = -1_000L; key < 1_000L; key++) {
+            Byte value = expected.get(key);
+            assertEquals(value == null ? 0 : value, map.get(key));
+        }
+    }
+
+    @Test
+    void clear_ifMapIsFilled_MapIsEmpty() {
+        // given
+        LongByteHashMap map = new LongByteHashMap();
+        map.put(1L, (byte) 1);
+        map.put(Long.MIN_VALUE, (byte) 2);
+
+        // when
+        map.clear();
+
+        // then
+        assertEquals(0, map.size());
+        assertEquals(0, map.get(Long.MIN_VALUE));
+    }
+}
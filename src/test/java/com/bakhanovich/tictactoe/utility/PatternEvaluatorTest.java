@@ -0,0 +1,114 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.impl.KInARowPlayBoardImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternEvaluatorTest {
+
+    @ParameterizedTest
+    @CsvSource(value = {"0,0", "1,1", "4,8", "13,64", "2,-1", "8,-8", "5,0", "7,0"})
+    void patterns_ifWinLengthThree_ReturnsValueOfIndex(int index, int expectedValue) {
+        // given
+
+        // when
+        int[] patterns = PatternEvaluator.patterns(3);
+        // then
+        assertEquals(27, patterns.length);
+        assertEquals(expectedValue, patterns[index]);
+    }
+
+    @Test
+    void getScore_ifEvaluatorsShareWinLength_AreIndependent() {
+        // given
+        PatternEvaluator first = new PatternEvaluator(9, 5);
+        PatternEvaluator second = new PatternEvaluator(7, 5);
+
+        // when
+        first.place(4, 4, Player.PLAYER1);
+        first.place(4, 5, Player.PLAYER1);
+
+        // then
+        assertTrue(first.getScore() > 0);
+        assertEquals(0, second.getScore());
+        second.place(3, 3, Player.PLAYER2);
+        assertTrue(second.getScore() < 0);
+        assertTrue(first.getScore() > 0);
+    }
+
+    @Test
+    void getScore_ifOpenAndClosedLines_PrefersOpenLine() {
+        // given
+        PatternEvaluator open = new PatternEvaluator(9, 4);
+        PatternEvaluator closed = new PatternEvaluator(9, 4);
+
+        // when
+        open.place(4, 3, Player.PLAYER1);
+        open.place(4, 4, Player.PLAYER1);
+        closed.place(4, 0, Player.PLAYER1);
+        closed.place(4, 1, Player.PLAYER1);
+        closed.place(4, 2, Player.PLAYER2);
+        // then
+        assertTrue(open.getScore() > closed.getScore());
+    }
+
+    @Test
+    void getScore_ifMirroredPosition_ReturnsNegatedScore() {
+        // given
+        PatternEvaluator evaluator = new PatternEvaluator(7, 4);
+        evaluator.place(3, 3, Player.PLAYER1);
+        evaluator.place(2, 4, Player.PLAYER1);
+        int score = evaluator.getScore();
+
+        // when
+        evaluator.clear();
+        evaluator.place(3, 3, Player.PLAYER2);
+        evaluator.place(2, 4, Player.PLAYER2);
+        // then
+        assertTrue(score > 0);
+        assertEquals(-score, evaluator.getScore());
+    }
+
+    @Test
+    void getEvaluation_ifRandomMovesAndUndos_EqualsFullEvaluation() throws IllegalMoveException {
+        // given
+        Random random = new Random(19);
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(11, 5);
+
+        // when
+        for (int step = 0; step < 2000; step++) {
+            if (playBoard.isGameOver() || playBoard.getHistorySize() > 0 && random.nextInt(3) == 0) {
+                playBoard.undo();
+            } else {
+                int row = random.nextInt(11);
+                int col = random.nextInt(11);
+                if (playBoard.getPlayerAt(row, col) == null) {
+                    playBoard.move(row, col);
+                    playBoard.setCurrentPlayer(playBoard.getCurrentPlayer() == Player.PLAYER1
+                            ? Player.PLAYER2 : Player.PLAYER1);
+                }
+            }
+            // then
+            assertEquals(PatternEvaluator.evaluate(playBoard), playBoard.getEvaluation());
+        }
+    }
+
+    @Test
+    void getEvaluation_ifBoardCleared_ReturnsZero() throws IllegalMoveException {
+        // given
+        KInARowPlayBoardImpl playBoard = new KInARowPlayBoardImpl(7, 4);
+        playBoard.move(3, 3);
+
+        // when
+        playBoard.clearBoard();
+        // then
+        assertEquals(0, playBoard.getEvaluation());
+    }
+}
@@ -0,0 +1,122 @@
+package com.bakhanovich.tictactoe.utility;
+
+import com.bakhanovich.tictactoe.exception.IllegalMoveException;
+import com.bakhanovich.tictactoe.model.Player;
+import com.bakhanovich.tictactoe.service.PlayBoard;
+import com.bakhanovich.tictactoe.service.impl.KInARowPlayBoardImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetryTest {
+
+    @ParameterizedTest
+    @CsvSource(value = {"0,0,0", "1,0,2", "2,2,2", "3,2,0", "4,0,2", "5,2,2", "6,2,0", "7,0,0"})
+    void transform_ifCorner_ReturnsCorner(int transform, int expectedRow, int expectedCol) {
+        // given
+        int corner = Coordinates.pack(0, 0);
+
+        // when
+        int coordinate = Symmetry.transform(transform, corner, PlayBoard.SIZE);
+        // then
+        assertEquals(Coordinates.pack(expectedRow, expectedCol), coordinate);
+    }
+
+    @Test
+    void inverse_ifAppliedAfterTransform_ReturnsCell() {
+        // given
+        int size = 7;
+
+        // when
+        for (int t = 0; t < Symmetry.TRANSFORMS; t++) {
+            for (int row = 0; row < size; row++) {
+                for (int col = 0; col < size; col++) {
+                    int coordinate = Coordinates.pack(row, col);
+                    int transformed = Symmetry.transform(t, coordinate, size);
+                    // then
+                    assertEquals(coordinate, Symmetry.transform(Symmetry.inverse(t), transformed, size));
+                }
+            }
+        }
+    }
+
+    @Test
+    void canonical_ifAllPositions_Returns765Classes() {
+        // given
+        Set<Integer> classes = new HashSet<>();
+
+        // when
+        for (int first = 0; first < 512; first++) {
+            for (int second = 0; second < 512; second++) {
+                int firstCount = Integer.bitCount(first);
+                int secondCount = Integer.bitCount(second);
+                boolean reachable = (first & second) == 0
+                        && (firstCount == secondCount || firstCount == secondCount + 1)
+                        && !(BitBoards.hasLine(first) && BitBoards.hasLine(second))
+                        && !(BitBoards.hasLine(first) && firstCount == secondCount)
+                        && !(BitBoards.hasLine(second) && firstCount == secondCount + 1);
+                if (reachable) {
+                    classes.add(Symmetry.codeOf(Symmetry.canonical(first, second)));
+                }
+            }
+        }
+        // then
+        assertEquals(765, classes.size());
+    }
+
+    @Test
+    void canonical_ifSymmetricPositions_ReturnsSameCode() {
+        // given
+        int first = BitBoards.bit(0, 0) | BitBoards.bit(1, 1);
+        int second = BitBoards.bit(0, 1);
+
+        // when
+        int code = Symmetry.codeOf(Symmetry.canonical(first, second));
+        // then
+        for (int t = 0; t < Symmetry.TRANSFORMS; t++) {
+            int canonical = Symmetry.canonical(Symmetry.transformMask(t, first), Symmetry.transformMask(t, second));
+            assertEquals(code, Symmetry.codeOf(canonical));
+            int transform = Symmetry.transformOf(canonical);
+            assertEquals(code, Symmetry.transformMask(transform, Symmetry.transformMask(t, first))
+                    | Symmetry.transformMask(transform, Symmetry.transformMask(t, second)) << 9);
+        }
+    }
+
+    @Test
+    void hash_ifIdentity_EqualsPositionHash() throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new KInARowPlayBoardImpl(5, 4);
+        playBoard.move(0, 1);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(3, 4);
+
+        // when
+        long hash = Symmetry.hash(playBoard, Symmetry.IDENTITY);
+        // then
+        assertEquals(playBoard.getPositionHash(), hash);
+    }
+
+    @Test
+    void canonicalTransform_ifRotatedBoard_ReturnsSameHash() throws IllegalMoveException {
+        // given
+        PlayBoard playBoard = new KInARowPlayBoardImpl(5, 4);
+        PlayBoard rotated = new KInARowPlayBoardImpl(5, 4);
+        playBoard.move(0, 1);
+        rotated.move(1, 4);
+        playBoard.setCurrentPlayer(Player.PLAYER2);
+        rotated.setCurrentPlayer(Player.PLAYER2);
+        playBoard.move(3, 4);
+        rotated.move(4, 1);
+
+        // when
+        long hash = Symmetry.hash(playBoard, Symmetry.canonicalTransform(playBoard));
+        long rotatedHash = Symmetry.hash(rotated, Symmetry.canonicalTransform(rotated));
+        // then
+        assertEquals(hash, rotatedHash);
+    }
+}
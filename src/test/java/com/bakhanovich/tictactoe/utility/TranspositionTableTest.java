@@ -0,0 +1,135 @@
+package com.bakhanovich.tictactoe.utility;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TranspositionTableTest {
+    TranspositionTable table;
+
+    @BeforeEach
+    void setUp() {
+        table = new TranspositionTable(16);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"0,0,1,0", "-1000005,4,2,224", "1000007,255,3,65535", "2147483647,17,1,3"})
+    void pack_ifUnpacked_ReturnsFields(int score, int depth, int bound, int move) {
+        // given
+
+        // when
+        long data = TranspositionTable.pack(score, depth, bound, move);
+        // then
+        assertNotEquals(0, data);
+        assertEquals(score, TranspositionTable.score(data));
+        assertEquals(depth, TranspositionTable.depth(data));
+        assertEquals(bound, TranspositionTable.bound(data));
+        assertEquals(move, TranspositionTable.move(data));
+    }
+
+    @Test
+    void probe_ifStored_ReturnsDataAndCountsHit() {
+        // given
+        long data = TranspositionTable.pack(5, 3, TranspositionTable.EXACT, 7);
+        table.store(0x1234_5678_9ABC_DEF0L, data);
+
+        // when
+        long probed = table.probe(0x1234_5678_9ABC_DEF0L);
+        long missed = table.probe(0x1234_5678_9ABC_DEF1L);
+        // then
+        assertEquals(data, probed);
+        assertEquals(0, missed);
+        assertEquals(1, table.getHits());
+        assertEquals(1, table.getMisses());
+    }
+
+    @Test
+    void probe_ifSlotHoldsAnotherPosition_CountsCollision() {
+        // given
+        table.store(0x10L, TranspositionTable.pack(5, 3, TranspositionTable.EXACT, 7));
+
+        // when
+        long probed = table.probe(0x110L);
+        long other = table.probe(0x21L);
+        // then
+        assertEquals(0, probed);
+        assertEquals(0, other);
+        assertEquals(2, table.getMisses());
+        assertEquals(1, table.getCollisions());
+    }
+
+    @Test
+    void store_ifShallowerEntryOfAnotherPosition_KeepsDeeperEntry() {
+        // given
+        long deep = TranspositionTable.pack(5, 6, TranspositionTable.EXACT, 7);
+        table.store(0x10L, deep);
+
+        // when
+        table.store(0x110L, TranspositionTable.pack(1, 2, TranspositionTable.LOWER, 1));
+        // then
+        assertEquals(deep, table.probe(0x10L));
+        assertEquals(0, table.probe(0x110L));
+    }
+
+    @Test
+    void store_ifSamePosition_ReplacesEntry() {
+        // given
+        table.store(0x10L, TranspositionTable.pack(5, 6, TranspositionTable.EXACT, 7));
+        long shallow = TranspositionTable.pack(1, 2, TranspositionTable.LOWER, 1);
+
+        // when
+        table.store(0x10L, shallow);
+        // then
+        assertEquals(shallow, table.probe(0x10L));
+    }
+
+    @Test
+    void probe_ifConcurrentWrites_ReturnsOnlyVerifiedEntries() throws InterruptedException {
+        // given
+        int threads = 4;
+        AtomicInteger corrupted = new AtomicInteger();
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long seed = t;
+            workers[t] = new Thread(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                for (int i = 0; i < 200_000; i++) {
+                    long key = random.nextLong();
+                    // the score of the entry is derived from the key, the entry of another key is corrupted
+                    table.store(key, TranspositionTable.pack((int) key, 1, TranspositionTable.EXACT, 0));
+                    long probedKey = random.nextBoolean() ? key : random.nextLong();
+                    long data = table.probe(probedKey);
+                    if (data != 0 && TranspositionTable.score(data) != (int) probedKey) {
+                        corrupted.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        // when
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        // then
+        assertEquals(0, corrupted.get());
+    }
+
+    @Test
+    void capacity_ifNotPowerOfTwo_RoundsUp() {
+        // given
+
+        // when
+        TranspositionTable rounded = new TranspositionTable(1000);
+        // then
+        assertEquals(1024, rounded.capacity());
+    }
+}